@@ -2,20 +2,42 @@
 
 package com.generator;
 
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
 import java.util.Scanner;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class App {
 
     private static final String VERSION = "1.0.0";
 
     public static void main(String[] args) {
-        ConsoleUtils.init();
+        // Jansi se instala de forma perezosa en la primera salida con color
+        if (hasFlag(args, "--no-color")) {
+            ConsoleUtils.setColorsEnabled(false);
+        }
+        // Con --format la salida estándar queda para los datos; los mensajes van a stderr
+        if (getOption(args, "--format", null) != null) {
+            ConsoleUtils.setColorsEnabled(false);
+            System.setOut(System.err);
+        }
 
         try {
             run(args);
@@ -39,6 +61,20 @@ public class App {
             return;
         }
 
+        String jfrFile = getOption(args, "--jfr", null);
+        if (jfrFile != null) {
+            Path destination = Paths.get(jfrFile).toAbsolutePath();
+            GeneratorEvents.startRecording(destination);
+            ConsoleUtils.printInfo("Grabacion JFR activa: " + destination + " (se escribe al terminar)");
+        }
+
+        ContentPipeline.setDefault(buildContentPipeline(args));
+
+        if (args[0].equals("--serve")) {
+            runServer(args);
+            return;
+        }
+
         // Parsear argumentos
         Path markdownFile = Paths.get(args[0]).toAbsolutePath();
 
@@ -53,17 +89,54 @@ public class App {
         boolean forceMode = hasFlag(args, "--force", "-f");
         boolean debugMode = hasFlag(args, "--debug", "-d");
         boolean noReadme = hasFlag(args, "--no-readme");
+        boolean noResume = hasFlag(args, "--no-resume");
+        boolean watchMode = hasFlag(args, "--watch", "-w");
+        boolean deltaBlocks = hasFlag(args, "--delta-blocks");
+        boolean fastScan = hasFlag(args, "--fast-scan");
+        boolean adaptivePaths = hasFlag(args, "--adaptive-paths");
+        boolean pathStats = adaptivePaths || hasFlag(args, "--path-stats");
+        boolean phaseSnapshots = hasFlag(args, "--phase-snapshots");
+        boolean gitExport = hasFlag(args, "--git-export");
+        boolean verifyCompile = hasFlag(args, "--verify-compile");
+        boolean symbolsReport = hasFlag(args, "--symbols");
+        String depsType = getOption(args, "--deps", null);
+        String tenantsDirectory = getOption(args, "--tenants", null);
+        Map<String, String> templateValues = loadTemplateValues(args);
+        boolean readOnly = verifyCompile || symbolsReport || depsType != null;
+        ConfigPathRules configRules = loadConfigRules(args);
+        ScanLimits scanLimits = loadScanLimits(args);
+        BlockFilter filter = loadFilter(args);
 
         // Validar archivo de entrada
         if (!Files.exists(markdownFile)) {
             throw new IOException("Archivo no encontrado: " + markdownFile);
         }
 
-        // Crear directorio de salida
-        if (!Files.exists(outputDirectory)) {
+        String listingFormat = getOption(args, "--format", null);
+        if (listingFormat != null) {
+            runListing(markdownFile, BlockListing.Format.parse(listingFormat), hasFlag(args, "--with-content"),
+                    configRules, scanLimits, filter, fastScan);
+            return;
+        }
+
+        // Buscar una sesión interactiva previa para la misma guía
+        String guideHash = null;
+        SessionSnapshot snapshot = null;
+        // Una selección parcial no se guarda como sesión: no representa la guía entera
+        if (!autoMode && !watchMode && !phaseSnapshots && !gitExport && !readOnly && tenantsDirectory == null
+                && filter.isEmpty()) {
+            guideHash = SessionSnapshot.hashGuide(markdownFile,
+                    sessionOptions(args, templateValues, scanLimits, deltaBlocks, fastScan));
+            if (!noResume) {
+                snapshot = SessionSnapshot.load(outputDirectory, guideHash);
+            }
+        }
+
+        // Crear directorio de salida (los modos de solo lectura no escriben nada)
+        if (!Files.exists(outputDirectory) && !readOnly) {
             Files.createDirectories(outputDirectory);
             ConsoleUtils.printInfo("Directorio creado: " + outputDirectory);
-        } else if (!forceMode) {
+        } else if (!forceMode && snapshot == null && !readOnly) {
             try {
                 if (Files.list(outputDirectory).findAny().isPresent()) {
                     ConsoleUtils.printWarning("El directorio no esta vacio: " + outputDirectory);
@@ -86,15 +159,54 @@ public class App {
         ConsoleUtils.printInfo("Directorio destino: " + outputDirectory);
         ConsoleUtils.printInfo("Generar README: " + (noReadme ? "NO" : "SI"));
 
+        if (!filter.isEmpty()) {
+            ConsoleUtils.printInfo("Filtro de bloques: " + filter);
+        }
+        if (fastScan) {
+            ConsoleUtils.printInfo("Escaner de lineas: " + LineScanner.best().name());
+        }
         if (debugMode) {
             ConsoleUtils.printWarning("Modo DEBUG activado");
         }
         System.out.println();
 
+        if (watchMode) {
+            WatchMode watch = new WatchMode(markdownFile, outputDirectory, debugMode, noReadme);
+            watch.setConfigRules(configRules);
+            watch.setScanLimits(scanLimits);
+            watch.setFilter(filter);
+            watch.setFastScan(fastScan);
+            watch.setTemplateValues(templateValues);
+            watch.start();
+            return;
+        }
+
         MarkdownParser parser = new MarkdownParser(markdownFile);
         parser.setDebugMode(debugMode);
-
-        List<CodeBlock> blocks = parser.parse();
+        parser.setConfigRules(configRules);
+        parser.setDeltaStorage(deltaBlocks);
+        parser.setScanLimits(scanLimits);
+        parser.setFilter(filter);
+        parser.setFastScan(fastScan);
+        parser.setAdaptivePaths(adaptivePaths);
+
+        List<CodeBlock> blocks;
+        List<GuideAssembler.Segment> segments = null;
+        if (snapshot != null) {
+            blocks = snapshot.getBlocks();
+            ConsoleUtils.printSuccess("Sesion restaurada sin re-parsear (bloque "
+                    + (snapshot.getCurrentIndex() + 1) + " de " + blocks.size() + ")");
+        } else {
+            segments = GuideAssembler.assemble(markdownFile);
+            blocks = parser.parse(segments);
+            for (MarkdownParser.Problem problem : parser.getProblems()) {
+                ConsoleUtils.printWarning(problem.toString());
+            }
+            if (pathStats) {
+                ConsoleUtils.printInfo((adaptivePaths ? "Orden aprendido de estrategias: " : "Estrategias de rutas: ")
+                        + parser.getPathStrategies().report());
+            }
+        }
 
         if (blocks.isEmpty()) {
             ConsoleUtils.printWarning("No se encontraron bloques de codigo con rutas de archivo.");
@@ -106,19 +218,53 @@ public class App {
         ConsoleUtils.printInfo("Estadisticas: " + stats);
         System.out.println();
 
+        if (tenantsDirectory != null) {
+            runTenants(blocks, segments, outputDirectory, markdownFile, noReadme,
+                    templateValues, Paths.get(tenantsDirectory));
+            return;
+        }
+
+        // Variables de plantilla: la guía ya parseada se instancia con los valores dados.
+        // Sin valores la salida es la guía tal cual, escapes $${...} incluidos
+        List<String> readmeSegments = null;
+        if (!templateValues.isEmpty()) {
+            if (segments != null) {
+                TemplateRenderer renderer = new TemplateRenderer(blocks, segments);
+                blocks = renderer.render(templateValues);
+                readmeSegments = renderer.renderReadme(templateValues);
+            } else {
+                // Sesión restaurada: los bloques ya están instanciados, solo falta el README
+                readmeSegments = new TemplateRenderer(List.of(), GuideAssembler.assemble(markdownFile))
+                        .renderReadme(templateValues);
+            }
+        }
+
         // Modo automático o interactivo
-        if (autoMode) {
-            runAutoMode(blocks, outputDirectory, markdownFile, noReadme);
+        if (symbolsReport || depsType != null) {
+            runSymbolIndex(blocks, depsType);
+        } else if (verifyCompile) {
+            if (!runVerifyCompile(blocks, getOption(args, "--classpath", null))) {
+                ConsoleUtils.cleanup();
+                System.exit(1);
+            }
+        } else if (gitExport) {
+            runGitExport(blocks, outputDirectory, markdownFile, noReadme, readmeSegments);
+        } else if (phaseSnapshots) {
+            runPhaseSnapshots(blocks, outputDirectory, markdownFile, noReadme, readmeSegments);
+        } else if (autoMode) {
+            runAutoMode(blocks, outputDirectory, markdownFile, noReadme, readmeSegments);
         } else {
-            runInteractiveMode(blocks, outputDirectory, markdownFile);
+            runInteractiveMode(blocks, outputDirectory, markdownFile, guideHash, snapshot, readmeSegments);
         }
     }
 
     private static void runAutoMode(List<CodeBlock> blocks, Path outputDirectory,
-                                    Path markdownFile, boolean noReadme) throws IOException {
+                                    Path markdownFile, boolean noReadme,
+                                    List<String> readmeSegments) throws IOException {
         ConsoleUtils.printSubHeader("Modo Automatico");
 
         ProjectGenerator generator = new ProjectGenerator(outputDirectory, blocks);
+        generator.setReadmeSegments(readmeSegments);
 
         // Crear estructura base
         generator.generateProjectStructure();
@@ -174,6 +320,149 @@ public class App {
         System.out.println("  mvn clean test");
     }
 
+    private static void runGitExport(List<CodeBlock> blocks, Path outputDirectory, Path markdownFile,
+                                     boolean noReadme, List<String> readmeSegments) throws IOException {
+        ConsoleUtils.printSubHeader("Exportacion a Git");
+
+        if (!noReadme && readmeSegments == null) {
+            readmeSegments = ProjectGenerator.readSegments(markdownFile);
+        }
+
+        long start = System.nanoTime();
+        GitExporter exporter = new GitExporter(outputDirectory, blocks);
+        String head = exporter.export(markdownFile, noReadme ? null : readmeSegments);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        ConsoleUtils.printSuccess("Commits: " + exporter.getCommitCount()
+                + " | Objetos: " + exporter.getObjectCount()
+                + " | Packfile: " + exporter.getPackSize() + " bytes (" + millis + " ms)");
+        if (head != null) {
+            ConsoleUtils.printInfo("HEAD: " + head);
+        }
+        System.out.println("Repositorio (bare): " + outputDirectory);
+        System.out.println("  git clone " + outputDirectory + " proyecto");
+        System.out.println("  git -C " + outputDirectory + " log --oneline");
+    }
+
+    private static void runPhaseSnapshots(List<CodeBlock> blocks, Path outputDirectory,
+                                          Path markdownFile, boolean noReadme,
+                                          List<String> readmeSegments) throws IOException {
+        ConsoleUtils.printSubHeader("Snapshots por Fase");
+
+        PhaseSnapshotWriter writer = new PhaseSnapshotWriter(outputDirectory, blocks);
+        writer.setReadmeSegments(readmeSegments);
+        List<Path> snapshots = writer.writeAll(markdownFile, !noReadme);
+
+        System.out.println();
+        ConsoleUtils.printSuccess("Snapshots generados: " + snapshots.size());
+        ConsoleUtils.printInfo(writer.toString());
+        System.out.println("Ubicacion: " + outputDirectory);
+    }
+
+    /**
+     * Genera un proyecto por cada archivo .properties del directorio de inquilinos,
+     * compilando las plantillas de la guía una sola vez.
+     */
+    private static void runTenants(List<CodeBlock> blocks, List<GuideAssembler.Segment> segments,
+                                   Path outputDirectory, Path markdownFile, boolean noReadme,
+                                   Map<String, String> sharedValues, Path tenantsDirectory) throws IOException {
+        ConsoleUtils.printSubHeader("Generacion por Inquilino");
+
+        List<Path> tenantFiles;
+        try (Stream<Path> files = Files.list(tenantsDirectory)) {
+            tenantFiles = files.filter(f -> f.getFileName().toString().endsWith(".properties"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+        if (tenantFiles.isEmpty()) {
+            ConsoleUtils.printWarning("No hay archivos .properties en " + tenantsDirectory);
+            return;
+        }
+
+        long start = System.nanoTime();
+        TemplateRenderer renderer = new TemplateRenderer(blocks, segments);
+        ConsoleUtils.printInfo("Variables de la guia: " + String.join(", ", renderer.getVariables()));
+
+        int files = 0;
+        for (Path tenantFile : tenantFiles) {
+            String fileName = tenantFile.getFileName().toString();
+            String tenant = fileName.substring(0, fileName.length() - ".properties".length());
+
+            Map<String, String> values = new HashMap<>(sharedValues);
+            values.putAll(readProperties(tenantFile));
+
+            ProjectGenerator generator = new ProjectGenerator(outputDirectory.resolve(tenant), renderer.render(values));
+            generator.generateProjectStructure();
+            files += generator.generateAll().getFilesCreated();
+            if (!noReadme) {
+                generator.generateReadme(markdownFile, renderer.renderReadme(values));
+            }
+            ConsoleUtils.printSuccess(tenant);
+        }
+
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        System.out.println();
+        ConsoleUtils.printSuccess("Proyectos generados: " + tenantFiles.size()
+                + " | Archivos: " + files + " (" + millis + " ms)");
+        System.out.println("Ubicacion: " + outputDirectory);
+    }
+
+    private static void runSymbolIndex(List<CodeBlock> blocks, String depsType) {
+        ConsoleUtils.printSubHeader("Indice de Simbolos");
+
+        long start = System.nanoTime();
+        SymbolIndex index = SymbolIndex.build(blocks);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        ConsoleUtils.printInfo(index + " (" + millis + " ms)");
+
+        for (SymbolIndex.MissingType missing : index.getMissingTypes()) {
+            ConsoleUtils.printWarning(missing.toString());
+        }
+        for (Map.Entry<String, List<String>> duplicate : index.getDuplicateSimpleNames().entrySet()) {
+            ConsoleUtils.printWarning(duplicate.getKey() + " declarado en varios paquetes: "
+                    + String.join(", ", duplicate.getValue()));
+        }
+
+        if (depsType != null) {
+            System.out.println();
+            int typeId = index.findType(depsType);
+            if (typeId < 0) {
+                ConsoleUtils.printError("Tipo no encontrado (o ambiguo): " + depsType);
+                return;
+            }
+            List<CodeBlock> needed = index.closure(typeId);
+            ConsoleUtils.printSuccess(index.getTypeName(typeId) + " necesita " + needed.size() + " bloque(s):");
+            for (CodeBlock block : needed) {
+                System.out.println("  " + block);
+            }
+        }
+    }
+
+    private static boolean runVerifyCompile(List<CodeBlock> blocks, String classpath) throws IOException {
+        ConsoleUtils.printSubHeader("Verificacion de Compilacion");
+
+        long start = System.nanoTime();
+        CompileVerifier verifier = new CompileVerifier(blocks, classpath);
+        boolean ok = verifier.verify();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        for (CompileVerifier.Problem problem : verifier.getProblems()) {
+            if (problem.isError()) {
+                ConsoleUtils.printError(problem.toString());
+            } else {
+                ConsoleUtils.printWarning(problem.toString());
+            }
+        }
+
+        System.out.println();
+        if (ok) {
+            ConsoleUtils.printSuccess("Compilan " + verifier.getCompiledFiles() + " archivos Java (" + millis + " ms)");
+        } else {
+            ConsoleUtils.printError("Errores de compilacion: " + verifier.getErrorCount() + " (" + millis + " ms)");
+        }
+        return ok;
+    }
+
     /**
      * Imprime el árbol de directorios usando caracteres ASCII.
      */
@@ -241,11 +530,202 @@ public class App {
     }
 
     private static void runInteractiveMode(List<CodeBlock> blocks, Path outputDirectory,
-                                           Path markdownFile) {
-        InteractiveMode interactive = new InteractiveMode(blocks, outputDirectory, markdownFile);
+                                           Path markdownFile, String guideHash,
+                                           SessionSnapshot snapshot, List<String> readmeSegments) {
+        InteractiveMode interactive = new InteractiveMode(blocks, outputDirectory, markdownFile, guideHash);
+        interactive.setReadmeSegments(readmeSegments);
+        if (snapshot != null) {
+            interactive.restore(snapshot);
+        }
         interactive.start();
     }
 
+    /**
+     * Lista los bloques en JSON o NDJSON por la salida estándar, en streaming:
+     * cada bloque se escribe al cerrarse y no se guarda la lista.
+     */
+    private static void runListing(Path markdownFile, BlockListing.Format format, boolean withContent,
+                                   ConfigPathRules configRules, ScanLimits scanLimits,
+                                   BlockFilter filter, boolean fastScan) throws IOException {
+        MarkdownParser parser = new MarkdownParser(markdownFile);
+        parser.setConfigRules(configRules);
+        parser.setScanLimits(scanLimits);
+        parser.setFilter(filter);
+        parser.setFastScan(fastScan);
+
+        // System.out apunta a stderr en este modo (ver main): los datos van al descriptor original
+        Writer out = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(FileDescriptor.out), StandardCharsets.UTF_8));
+        BlockListing listing = new BlockListing(out, format, withContent);
+        listing.begin();
+        try {
+            parser.parseStream(listing.sink());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        listing.end(parser.getProblems());
+    }
+
+    private static void runServer(String[] args) throws IOException {
+        int port = Integer.parseInt(getOption(args, "--port", "8088"));
+        int threads = Integer.parseInt(getOption(args, "--threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+
+        ConsoleUtils.printHeader("MARKDOWN PROJECT GENERATOR v" + VERSION + " - SERVIDOR");
+        GeneratorServer server = new GeneratorServer(port, threads);
+        server.setConfigRules(loadConfigRules(args));
+        server.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop, "server-stop"));
+
+        try {
+            Thread.currentThread().join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Límites de las regiones donde se buscan rutas (--max-line, --max-context).
+     */
+    private static ScanLimits loadScanLimits(String[] args) {
+        ScanLimits.Builder builder = new ScanLimits.Builder();
+        String maxLine = getOption(args, "--max-line", null);
+        if (maxLine != null) builder.maxLineLength(Integer.parseInt(maxLine));
+        String maxContext = getOption(args, "--max-context", null);
+        if (maxContext != null) builder.maxContextChars(Integer.parseInt(maxContext));
+        return builder.build();
+    }
+
+    /**
+     * Opciones que cambian los bloques parseados o lo que se escribe con ellos,
+     * para la clave de la sesión. Los archivos (--rules, --license) cuentan por
+     * su contenido y los límites por su valor efectivo.
+     */
+    private static Map<String, String> sessionOptions(String[] args, Map<String, String> templateValues,
+                                                      ScanLimits scanLimits, boolean deltaBlocks,
+                                                      boolean fastScan) throws IOException {
+        Map<String, String> options = new HashMap<>();
+        for (Map.Entry<String, String> value : templateValues.entrySet()) {
+            // Cada juego de variables produce un proyecto distinto
+            options.put("var." + value.getKey(), value.getValue());
+        }
+        String rulesFile = getOption(args, "--rules", null);
+        if (rulesFile != null) {
+            options.put("rules", Files.readString(Paths.get(rulesFile)));
+        }
+        String licenseFile = getOption(args, "--license", null);
+        if (licenseFile != null) {
+            options.put("license", Files.readString(Paths.get(licenseFile)));
+        }
+        options.put("line-endings", getOption(args, "--line-endings", "lf").toLowerCase(Locale.ROOT));
+        options.put("max-line", String.valueOf(scanLimits.getMaxLineLength()));
+        options.put("max-context", String.valueOf(scanLimits.getMaxContextChars()));
+        options.put("delta-blocks", String.valueOf(deltaBlocks));
+        options.put("fast-scan", String.valueOf(fastScan));
+        return options;
+    }
+
+    /**
+     * Selección de bloques (--only repetible, --phase, --type) que se aplica al parsear.
+     */
+    private static BlockFilter loadFilter(String[] args) {
+        BlockFilter.Builder builder = new BlockFilter.Builder();
+        for (String pattern : getOptions(args, "--only")) {
+            builder.only(pattern);
+        }
+        String phase = getOption(args, "--phase", null);
+        if (phase != null) builder.phase(phase);
+        String types = getOption(args, "--type", null);
+        if (types != null) builder.types(types);
+        return builder.build();
+    }
+
+    /**
+     * Carga las reglas de rutas de configuración, añadiendo las de --rules si se indicó.
+     */
+    private static ConfigPathRules loadConfigRules(String[] args) throws IOException {
+        ConfigPathRules rules = ConfigPathRules.defaults();
+        String rulesFile = getOption(args, "--rules", null);
+        if (rulesFile != null) {
+            rules = rules.withRulesFrom(Paths.get(rulesFile));
+            ConsoleUtils.printInfo("Reglas de configuracion: " + rules.size() + " (" + rulesFile + ")");
+        }
+        return rules;
+    }
+
+    /**
+     * Transformaciones aplicadas al escribir cada archivo (--license, --line-endings).
+     */
+    private static ContentPipeline buildContentPipeline(String[] args) throws IOException {
+        ContentPipeline.Builder builder = ContentPipeline.builder();
+
+        String lineEndings = getOption(args, "--line-endings", "lf");
+        if (lineEndings.equalsIgnoreCase("crlf")) {
+            builder.lineSeparator("\r\n");
+        } else if (!lineEndings.equalsIgnoreCase("lf")) {
+            throw new IllegalArgumentException("Valor no valido para --line-endings: " + lineEndings);
+        }
+
+        String licenseFile = getOption(args, "--license", null);
+        if (licenseFile != null) {
+            builder.licenseHeader(Paths.get(licenseFile));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Valores de las variables de plantilla: --vars archivo.properties y --var clave=valor.
+     */
+    private static Map<String, String> loadTemplateValues(String[] args) throws IOException {
+        Map<String, String> values = new HashMap<>();
+        String varsFile = getOption(args, "--vars", null);
+        if (varsFile != null) {
+            values.putAll(readProperties(Paths.get(varsFile)));
+        }
+        for (String assignment : getOptions(args, "--var")) {
+            int equals = assignment.indexOf('=');
+            if (equals <= 0) {
+                throw new IllegalArgumentException("Se esperaba --var clave=valor: " + assignment);
+            }
+            values.put(assignment.substring(0, equals).trim(), assignment.substring(equals + 1).trim());
+        }
+        return values;
+    }
+
+    private static Map<String, String> readProperties(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        }
+        Map<String, String> values = new HashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            values.put(name, properties.getProperty(name));
+        }
+        return values;
+    }
+
+    /**
+     * Todos los valores de una opción que puede repetirse.
+     */
+    private static List<String> getOptions(String[] args, String option) {
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals(option)) {
+                values.add(args[i + 1]);
+            }
+        }
+        return values;
+    }
+
+    private static String getOption(String[] args, String option, String defaultValue) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals(option)) {
+                return args[i + 1];
+            }
+        }
+        return defaultValue;
+    }
+
     private static boolean hasFlag(String[] args, String... flags) {
         for (String arg : args) {
             for (String flag : flags) {
@@ -266,6 +746,7 @@ public class App {
         System.out.println();
         System.out.println("USO:");
         System.out.println("  java -jar generator.jar <archivo.md> [directorio-salida] [opciones]");
+        System.out.println("  java -jar generator.jar --serve [--port 8088] [--threads N]");
         System.out.println();
         System.out.println("ARGUMENTOS:");
         System.out.println("  archivo.md          Archivo Markdown con los bloques de codigo");
@@ -276,11 +757,41 @@ public class App {
         System.out.println("  --force, -f         No preguntar si el directorio existe");
         System.out.println("  --debug, -d         Mostrar informacion de debug");
         System.out.println("  --no-readme         No generar README.md");
+        System.out.println("  --watch, -w         Regenerar incrementalmente al cambiar la guia");
+        System.out.println("  --verify-compile    Compilar en memoria el codigo Java sin escribir archivos");
+        System.out.println("  --classpath <cp>    Classpath para --verify-compile (dependencias del proyecto)");
+        System.out.println("  --symbols           Mostrar tipos ausentes y clases duplicadas entre paquetes");
+        System.out.println("  --format <f>        Listar los bloques en json o ndjson por la salida estandar");
+        System.out.println("  --with-content      Incluir el contenido de cada bloque en --format");
+        System.out.println("  --only <glob>       Solo los bloques cuya ruta coincide (repetible; src/test/**, pom.xml)");
+        System.out.println("  --phase <n|a-b|txt> Solo los bloques de una fase: numero, rango o parte del nombre");
+        System.out.println("  --type <tipos>      Solo estos tipos, separados por comas (PROD,TEST,CONF,RES,SCR,OTRO)");
+        System.out.println("  --fast-scan         Saltar en bloque las lineas que no son vallas ni titulos");
+        System.out.println("  --deps <Clase>      Listar los bloques minimos para generar una clase");
+        System.out.println("  --git-export        Exportar la guia como repositorio git (un commit por fase)");
+        System.out.println("  --phase-snapshots   Generar un directorio phase-NN con el estado de cada fase");
+        System.out.println("  --rules <archivo>   Reglas adicionales para inferir rutas de configuracion");
+        System.out.println("  --var clave=valor   Valor de una variable ${clave} de la guia (repetible)");
+        System.out.println("  --vars <archivo>    Variables de plantilla desde un .properties");
+        System.out.println("  --tenants <dir>     Un proyecto por cada .properties del directorio");
+        System.out.println("  --license <archivo> Anadir la licencia como cabecera de cada archivo");
+        System.out.println("  --line-endings <x>  Saltos de linea de los archivos: lf (default) o crlf");
+        System.out.println("  --adaptive-paths    Reordenar las estrategias de rutas por tasa de acierto");
+        System.out.println("  --path-stats        Mostrar aciertos por estrategia y llamadas a find()");
+        System.out.println("  --max-line <n>      Caracteres por linea en los que se buscan rutas (default: 1000)");
+        System.out.println("  --max-context <n>   Caracteres de contexto previo a cada bloque (default: 4000)");
+        System.out.println("  --delta-blocks      Guardar versiones repetidas de un archivo como deltas");
+        System.out.println("  --jfr <archivo>     Grabar eventos JFR (parseo, rutas, escrituras) para Mission Control");
+        System.out.println("  --no-color          Salida en texto plano (sin cargar Jansi)");
+        System.out.println("  --no-resume         Ignorar la sesion interactiva guardada");
         System.out.println("  --help, -h          Mostrar esta ayuda");
         System.out.println();
         System.out.println("EJEMPLOS:");
         System.out.println("  java -jar generator.jar guia.md ./mi-proyecto --auto");
         System.out.println("  java -jar generator.jar guia.md ./mi-proyecto --auto --no-readme");
+        System.out.println("  java -jar generator.jar guia.md ./mi-proyecto --watch --force");
+        System.out.println("  java -jar generator.jar guia.md ./tests --auto --only 'src/test/**' --phase 2-3");
+        System.out.println("  curl --data-binary @guia.md 'http://localhost:8088/generate?format=zip' -o p.zip");
         System.out.println();
     }
 }
\ No newline at end of file
@@ -0,0 +1,101 @@
+// src/main/java/com/generator/BlockContent.java
+
+package com.generator;
+
+/**
+ * Contenido de un bloque de código.
+ *
+ * Puede ser un texto literal (compartido entre bloques idénticos) o un delta
+ * por líneas respecto a la versión anterior del mismo archivo, que se
+ * reconstruye al pedirlo.
+ */
+public abstract class BlockContent {
+
+    private BlockContent() {
+    }
+
+    public static BlockContent of(String text) {
+        return new Literal(text != null ? text : "");
+    }
+
+    /**
+     * Devuelve el texto completo, reconstruyéndolo si es un delta.
+     */
+    public abstract String get();
+
+    public abstract int length();
+
+    /**
+     * Caracteres retenidos en memoria por este contenido (sin contar su base).
+     */
+    abstract int retainedChars();
+
+    /**
+     * Longitud de la cadena de deltas hasta un literal.
+     */
+    abstract int depth();
+
+    static BlockContent delta(BlockContent base, int prefixChars, int suffixChars, String middle) {
+        return new Delta(base, prefixChars, suffixChars, middle);
+    }
+
+    static final class Literal extends BlockContent {
+        private final String text;
+
+        Literal(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public String get() { return text; }
+
+        @Override
+        public int length() { return text.length(); }
+
+        @Override
+        int retainedChars() { return text.length(); }
+
+        @Override
+        int depth() { return 0; }
+    }
+
+    /**
+     * Versión = base[0, prefix) + middle + base[len - suffix, len).
+     */
+    static final class Delta extends BlockContent {
+        private final BlockContent base;
+        private final int prefixChars;
+        private final int suffixChars;
+        private final String middle;
+        private final int length;
+        private final int depth;
+
+        Delta(BlockContent base, int prefixChars, int suffixChars, String middle) {
+            this.base = base;
+            this.prefixChars = prefixChars;
+            this.suffixChars = suffixChars;
+            this.middle = middle;
+            this.length = prefixChars + middle.length() + suffixChars;
+            this.depth = base.depth() + 1;
+        }
+
+        @Override
+        public String get() {
+            String baseText = base.get();
+            StringBuilder sb = new StringBuilder(length);
+            sb.append(baseText, 0, prefixChars);
+            sb.append(middle);
+            sb.append(baseText, baseText.length() - suffixChars, baseText.length());
+            return sb.toString();
+        }
+
+        @Override
+        public int length() { return length; }
+
+        @Override
+        int retainedChars() { return middle.length(); }
+
+        @Override
+        int depth() { return depth; }
+    }
+}
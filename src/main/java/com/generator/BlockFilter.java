@@ -0,0 +1,173 @@
+// src/main/java/com/generator/BlockFilter.java
+
+package com.generator;
+
+import java.nio.file.FileSystems;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Selección de bloques que el parser aplica mientras recorre la guía.
+ *
+ * El filtro se aplica después de numerar cada bloque (orden y número de fase),
+ * así que los bloques seleccionados conservan la numeración de la guía
+ * completa. Se recorre siempre la guía entera, así que una ruta que se
+ * redefine en fases posteriores queda con su última versión, como sin filtro.
+ */
+public final class BlockFilter {
+
+    private static final BlockFilter ALL = new Builder().build();
+    private static final Pattern PHASE_NUMBER = Pattern.compile(
+            "(?i)(?:FASE|PARTE|PHASE|STEP)\\s*(\\d+)");
+    private static final Pattern PHASE_RANGE = Pattern.compile("(\\d+)?\\s*(-)?\\s*(\\d+)?");
+
+    private final List<PathMatcher> globs;
+    private final Set<String> literalPaths;
+    private final String phaseName;
+    private final int phaseFrom;
+    private final int phaseTo;
+    private final Set<CodeBlock.BlockType> types;
+
+    private BlockFilter(Builder builder) {
+        this.globs = List.copyOf(builder.globs);
+        this.literalPaths = Set.copyOf(builder.literalPaths);
+        this.phaseName = builder.phaseName;
+        this.phaseFrom = builder.phaseFrom;
+        this.phaseTo = builder.phaseTo;
+        this.types = builder.types.isEmpty()
+                ? EnumSet.allOf(CodeBlock.BlockType.class) : EnumSet.copyOf(builder.types);
+    }
+
+    /**
+     * Filtro que acepta todos los bloques.
+     */
+    public static BlockFilter all() {
+        return ALL;
+    }
+
+    public boolean isEmpty() {
+        return globs.isEmpty() && literalPaths.isEmpty() && phaseName == null
+                && phaseFrom < 0 && types.size() == CodeBlock.BlockType.values().length;
+    }
+
+    /**
+     * Si la fase vigente al abrir un bloque admite bloques.
+     */
+    boolean acceptsPhase(String phase) {
+        if (phaseName != null) {
+            return phase != null && phase.toLowerCase(Locale.ROOT).contains(phaseName);
+        }
+        if (phaseFrom < 0) return true;
+        if (phase == null) return false;
+        Matcher matcher = PHASE_NUMBER.matcher(phase);
+        if (!matcher.find()) return false;
+        int number = Integer.parseInt(matcher.group(1));
+        return number >= phaseFrom && number <= phaseTo;
+    }
+
+    /**
+     * Si un bloque con esta ruta (ya normalizada) pasa los filtros de ruta y tipo.
+     */
+    boolean acceptsPath(String path) {
+        if (!types.contains(CodeBlock.determineType(path, null))) return false;
+        if (globs.isEmpty() && literalPaths.isEmpty()) return true;
+        if (literalPaths.contains(path)) return true;
+        for (PathMatcher glob : globs) {
+            if (glob.matches(Paths.get(path))) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        List<String> parts = new ArrayList<>();
+        if (!literalPaths.isEmpty() || !globs.isEmpty()) parts.add("rutas=" + (literalPaths.size() + globs.size()));
+        if (phaseName != null) parts.add("fase~" + phaseName);
+        if (phaseFrom >= 0) parts.add("fases " + phaseFrom + "-" + (phaseTo == Integer.MAX_VALUE ? "" : phaseTo));
+        if (types.size() < CodeBlock.BlockType.values().length) parts.add("tipos=" + types);
+        return parts.isEmpty() ? "todos" : String.join(", ", parts);
+    }
+
+    public static class Builder {
+        private final List<PathMatcher> globs = new ArrayList<>();
+        private final Set<String> literalPaths = new LinkedHashSet<>();
+        private String phaseName;
+        private int phaseFrom = -1;
+        private int phaseTo = -1;
+        private final Set<CodeBlock.BlockType> types = EnumSet.noneOf(CodeBlock.BlockType.class);
+
+        /**
+         * Patrón glob de ruta ({@code src/test/**}, {@code *.xml}); repetible.
+         */
+        public Builder only(String pattern) {
+            String trimmed = pattern.trim();
+            if (trimmed.isEmpty()) {
+                throw new IllegalArgumentException("Patrón de ruta vacío");
+            }
+            if (trimmed.chars().anyMatch(c -> "*?[{".indexOf(c) >= 0)) {
+                globs.add(FileSystems.getDefault().getPathMatcher("glob:" + trimmed));
+            } else {
+                literalPaths.add(trimmed);
+            }
+            return this;
+        }
+
+        /**
+         * Número de fase ({@code 3}), rango ({@code 2-4}, {@code 3-}) o parte del nombre ({@code ATDD}).
+         */
+        public Builder phase(String spec) {
+            String trimmed = spec.trim();
+            Matcher range = PHASE_RANGE.matcher(trimmed);
+            if (!trimmed.isEmpty() && range.matches() && (range.group(1) != null || range.group(3) != null)) {
+                phaseFrom = range.group(1) != null ? Integer.parseInt(range.group(1)) : 0;
+                if (range.group(2) == null) {
+                    phaseTo = phaseFrom;
+                } else {
+                    phaseTo = range.group(3) != null ? Integer.parseInt(range.group(3)) : Integer.MAX_VALUE;
+                }
+                if (phaseTo < phaseFrom) {
+                    throw new IllegalArgumentException("Rango de fases invertido: " + spec);
+                }
+                phaseName = null;
+            } else if (!trimmed.isEmpty()) {
+                phaseName = trimmed.toLowerCase(Locale.ROOT);
+                phaseFrom = -1;
+            }
+            return this;
+        }
+
+        /**
+         * Tipos separados por comas, por nombre corto ({@code PROD,TEST}) o completo.
+         */
+        public Builder types(String spec) {
+            for (String name : spec.split(",")) {
+                String wanted = name.trim().toUpperCase(Locale.ROOT);
+                if (wanted.isEmpty()) continue;
+                CodeBlock.BlockType match = null;
+                for (CodeBlock.BlockType type : CodeBlock.BlockType.values()) {
+                    if (type.getShortName().equals(wanted) || type.name().equals(wanted)) {
+                        match = type;
+                    }
+                }
+                if (match == null) {
+                    throw new IllegalArgumentException("Tipo de bloque desconocido: " + name.trim()
+                            + " (PROD, TEST, CONF, RES, SCR, OTRO)");
+                }
+                types.add(match);
+            }
+            return this;
+        }
+
+        public BlockFilter build() {
+            return new BlockFilter(this);
+        }
+    }
+}
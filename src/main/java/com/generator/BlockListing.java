@@ -0,0 +1,160 @@
+// src/main/java/com/generator/BlockListing.java
+
+package com.generator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Listado de bloques para otras herramientas, escrito en streaming con {@link JsonWriter}.
+ *
+ * En formato {@code json} produce un único documento
+ * {@code {"blocks":[...],"problems":[...],"stats":{...}}}; en {@code ndjson}
+ * una línea por registro, distinguidos por el campo {@code "record"}
+ * ({@code block}, {@code problem} y un {@code stats} final). Cada bloque se
+ * escribe en cuanto llega, así que nada depende del tamaño de la guía.
+ */
+public class BlockListing {
+
+    public enum Format {
+        JSON, NDJSON;
+
+        public static Format parse(String name) {
+            switch (name.toLowerCase()) {
+                case "json": return JSON;
+                case "ndjson": return NDJSON;
+                default:
+                    throw new IllegalArgumentException("Formato no soportado: " + name + " (json o ndjson)");
+            }
+        }
+    }
+
+    private final Writer out;
+    private final JsonWriter json;
+    private final Format format;
+    private final boolean withContent;
+    private final MessageDigest digest;
+    private final ParseStats.Counter stats = new ParseStats.Counter();
+
+    public BlockListing(Writer out, Format format, boolean withContent) {
+        this.out = out;
+        this.json = new JsonWriter(out);
+        this.format = format;
+        this.withContent = withContent;
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    public void begin() throws IOException {
+        if (format == Format.JSON) {
+            json.beginObject().name("blocks").beginArray();
+        }
+    }
+
+    public void block(CodeBlock block) throws IOException {
+        stats.add(block);
+
+        json.beginObject();
+        if (format == Format.NDJSON) {
+            json.field("record", "block");
+        }
+        String content = block.getContent();
+        json.field("order", block.getOrder())
+                .field("filePath", block.getFilePath())
+                .field("language", block.getLanguage())
+                .field("phase", block.getPhase())
+                .field("description", block.getDescription())
+                .field("type", block.getType().getShortName())
+                .field("lines", ParseStats.lineCount(content))
+                .field("hash", sha256(content));
+        if (block.getSourceFile() != null) {
+            json.field("source", block.getSourceFile()).field("sourceLine", block.getSourceLine());
+        }
+        if (withContent) {
+            json.field("content", content);
+        }
+        json.endObject();
+        endRecord();
+    }
+
+    /**
+     * Destino para {@link MarkdownParser#parse(List, Consumer)}; los errores de
+     * escritura se propagan como {@link UncheckedIOException}.
+     */
+    public Consumer<CodeBlock> sink() {
+        return block -> {
+            try {
+                block(block);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    /**
+     * Cierra el listado con las incidencias del parseo y las estadísticas acumuladas.
+     */
+    public void end(List<MarkdownParser.Problem> problems) throws IOException {
+        ParseStats totals = stats.build();
+
+        if (format == Format.JSON) {
+            json.endArray().name("problems").beginArray();
+        }
+        for (MarkdownParser.Problem problem : problems) {
+            json.beginObject();
+            if (format == Format.NDJSON) {
+                json.field("record", "problem");
+            }
+            json.field("source", problem.getSource())
+                    .field("line", problem.getLine())
+                    .field("message", problem.getMessage())
+                    .endObject();
+            endRecord();
+        }
+        if (format == Format.JSON) {
+            json.endArray().name("stats");
+        }
+
+        json.beginObject();
+        if (format == Format.NDJSON) {
+            json.field("record", "stats");
+        }
+        json.field("totalBlocks", totals.getTotalBlocks())
+                .field("javaFiles", totals.getJavaFiles())
+                .field("testFiles", totals.getTestFiles())
+                .field("configFiles", totals.getConfigFiles())
+                .field("otherFiles", totals.getOtherFiles())
+                .field("totalLines", totals.getTotalLines())
+                .endObject();
+
+        if (format == Format.JSON) {
+            json.endObject();
+        }
+        out.write('\n');
+        json.flush();
+    }
+
+    private void endRecord() throws IOException {
+        if (format == Format.NDJSON) {
+            out.write('\n');
+        }
+    }
+
+    private String sha256(String content) {
+        byte[] hash = digest.digest(content.getBytes(StandardCharsets.UTF_8));
+        StringBuilder hex = new StringBuilder(hash.length * 2);
+        for (byte b : hash) {
+            hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return hex.toString();
+    }
+}
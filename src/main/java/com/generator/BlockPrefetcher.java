@@ -0,0 +1,157 @@
+// src/main/java/com/generator/BlockPrefetcher.java
+
+package com.generator;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Precarga en segundo plano el estado en disco de los bloques cercanos al actual
+ * (existencia, contenido existente y diferencias) para que la navegación
+ * interactiva no espere al sistema de archivos.
+ */
+public class BlockPrefetcher {
+
+    private static final int PREFETCH_AHEAD = 3;
+    private static final int PREFETCH_BEHIND = 2;
+    private static final int MAX_ENTRIES = 16;
+
+    private final List<CodeBlock> blocks;
+    private final ProjectGenerator generator;
+    private final ExecutorService executor;
+    private final Map<Integer, CompletableFuture<DiskState>> cache =
+            new LinkedHashMap<>(MAX_ENTRIES, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, CompletableFuture<DiskState>> eldest) {
+                    return size() > MAX_ENTRIES;
+                }
+            };
+
+    public BlockPrefetcher(List<CodeBlock> blocks, ProjectGenerator generator) {
+        this.blocks = blocks;
+        this.generator = generator;
+        this.executor = Executors.newFixedThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "block-prefetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Estado en disco de un bloque, con el diff ya calculado si el archivo existe.
+     */
+    public static class DiskState {
+        private final boolean exists;
+        private final String existingContent;
+        private final DiffPreview diff;
+
+        DiskState(boolean exists, String existingContent, DiffPreview diff) {
+            this.exists = exists;
+            this.existingContent = existingContent;
+            this.diff = diff;
+        }
+
+        public boolean exists() { return exists; }
+        public String getExistingContent() { return existingContent; }
+        public DiffPreview getDiff() { return diff; }
+    }
+
+    /**
+     * Programa la carga de los bloques alrededor del índice indicado.
+     */
+    public void prefetchAround(int index) {
+        int from = Math.max(0, index - PREFETCH_BEHIND);
+        int to = Math.min(blocks.size() - 1, index + PREFETCH_AHEAD);
+        for (int i = from; i <= to; i++) {
+            schedule(i);
+        }
+    }
+
+    /**
+     * Devuelve el estado del bloque, esperando la precarga si está en curso
+     * o cargándolo en el hilo actual si no estaba programado.
+     */
+    public DiskState get(int index) {
+        CompletableFuture<DiskState> future;
+        synchronized (cache) {
+            future = cache.get(index);
+        }
+        if (future == null) {
+            DiskState state = load(blocks.get(index));
+            synchronized (cache) {
+                cache.putIfAbsent(index, CompletableFuture.completedFuture(state));
+            }
+            return state;
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return load(blocks.get(index));
+        } catch (ExecutionException e) {
+            return load(blocks.get(index));
+        }
+    }
+
+    /**
+     * Descarta las entradas de todos los bloques que escriben en la misma ruta.
+     */
+    public void invalidate(int index) {
+        String filePath = blocks.get(index).getFilePath();
+        synchronized (cache) {
+            Iterator<Integer> it = cache.keySet().iterator();
+            while (it.hasNext()) {
+                int cached = it.next();
+                if (cached == index || (filePath != null && filePath.equals(blocks.get(cached).getFilePath()))) {
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void schedule(int index) {
+        synchronized (cache) {
+            if (cache.containsKey(index)) {
+                return;
+            }
+            CodeBlock block = blocks.get(index);
+            cache.put(index, CompletableFuture.supplyAsync(() -> load(block), executor));
+        }
+    }
+
+    private DiskState load(CodeBlock block) {
+        if (!generator.fileExists(block)) {
+            return new DiskState(false, null, null);
+        }
+        try {
+            String prepared = generator.prepareContent(block);
+            // Mismo tamaño y hash: no hace falta leer el archivo para saber que no hay diferencias
+            if (generator.isUpToDate(block, prepared)) {
+                return new DiskState(true, prepared, DiffPreview.compute(prepared, prepared));
+            }
+            String existing = generator.getExistingContent(block);
+            DiffPreview diff = existing != null ? DiffPreview.compute(existing, prepared) : null;
+            return new DiskState(true, existing, diff);
+        } catch (IOException e) {
+            return new DiskState(true, null, null);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+// src/main/java/com/generator/BlockStore.java
+
+package com.generator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Almacén de contenidos de bloques direccionado por contenido.
+ *
+ * Los cuerpos idénticos comparten una única instancia. Opcionalmente, cada
+ * nueva versión de una misma ruta se guarda como delta por líneas respecto a
+ * la anterior (prefijo y sufijo comunes más el tramo cambiado), lo que reduce
+ * mucho la memoria retenida en guías que redefinen la misma clase por fases.
+ */
+public class BlockStore {
+
+    // Por encima de esta profundidad se guarda un literal para acotar la reconstrucción
+    private static final int MAX_DELTA_DEPTH = 16;
+
+    private final boolean deltas;
+    private final Map<String, BlockContent> interned = new HashMap<>();
+    private final Map<String, BlockContent> latestByPath = new HashMap<>();
+
+    private long originalChars = 0;
+    private long retainedChars = 0;
+    private int literalCount = 0;
+    private int deltaCount = 0;
+    private int sharedCount = 0;
+
+    public BlockStore(boolean deltas) {
+        this.deltas = deltas;
+    }
+
+    /**
+     * Guarda los contenidos de los bloques en el almacén, en orden de documento.
+     */
+    public List<CodeBlock> compact(List<CodeBlock> blocks) {
+        List<CodeBlock> result = new ArrayList<>(blocks.size());
+        for (CodeBlock block : blocks) {
+            result.add(block.toBuilder()
+                    .content(store(block.getFilePath(), block.getContent()))
+                    .build());
+        }
+        return result;
+    }
+
+    public BlockContent store(String filePath, String content) {
+        originalChars += content.length();
+
+        BlockContent shared = interned.get(content);
+        if (shared != null) {
+            sharedCount++;
+            remember(filePath, shared);
+            return shared;
+        }
+
+        BlockContent previous = filePath != null ? latestByPath.get(filePath) : null;
+        if (deltas && previous != null && previous.depth() < MAX_DELTA_DEPTH) {
+            String previousText = previous.get();
+            if (previousText.equals(content)) {
+                sharedCount++;
+                return previous;
+            }
+            BlockContent delta = lineDelta(previous, previousText, content);
+            if (delta != null) {
+                deltaCount++;
+                retainedChars += delta.retainedChars();
+                remember(filePath, delta);
+                return delta;
+            }
+        }
+
+        BlockContent literal = BlockContent.of(content);
+        interned.put(content, literal);
+        literalCount++;
+        retainedChars += literal.retainedChars();
+        remember(filePath, literal);
+        return literal;
+    }
+
+    private void remember(String filePath, BlockContent content) {
+        if (filePath != null) {
+            latestByPath.put(filePath, content);
+        }
+    }
+
+    /**
+     * Delta por líneas: prefijo y sufijo comunes alineados a saltos de línea.
+     * Devuelve null si el delta no ahorra al menos la mitad del texto.
+     */
+    private static BlockContent lineDelta(BlockContent base, String baseText, String text) {
+        int max = Math.min(baseText.length(), text.length());
+
+        int prefix = 0;
+        int lastPrefixLine = 0;
+        while (prefix < max && baseText.charAt(prefix) == text.charAt(prefix)) {
+            if (text.charAt(prefix) == '\n') lastPrefixLine = prefix + 1;
+            prefix++;
+        }
+        if (prefix == max && (max == text.length() || text.charAt(max) == '\n')
+                && (max == baseText.length() || baseText.charAt(max) == '\n')) {
+            lastPrefixLine = prefix;
+        }
+
+        int suffix = 0;
+        int lastSuffixLine = 0;
+        int suffixLimit = max - lastPrefixLine;
+        while (suffix < suffixLimit
+                && baseText.charAt(baseText.length() - 1 - suffix) == text.charAt(text.length() - 1 - suffix)) {
+            suffix++;
+            int position = text.length() - suffix;
+            if (position == lastPrefixLine || text.charAt(position - 1) == '\n') {
+                lastSuffixLine = suffix;
+            }
+        }
+
+        String middle = text.substring(lastPrefixLine, text.length() - lastSuffixLine);
+        if (middle.length() * 2 > text.length()) {
+            return null;
+        }
+        return BlockContent.delta(base, lastPrefixLine, lastSuffixLine, middle);
+    }
+
+    public long getOriginalChars() { return originalChars; }
+    public long getRetainedChars() { return retainedChars; }
+    public int getLiteralCount() { return literalCount; }
+    public int getDeltaCount() { return deltaCount; }
+    public int getSharedCount() { return sharedCount; }
+
+    @Override
+    public String toString() {
+        return String.format("Literales: %d | Deltas: %d | Compartidos: %d | Caracteres: %d -> %d",
+                literalCount, deltaCount, sharedCount, originalChars, retainedChars);
+    }
+}
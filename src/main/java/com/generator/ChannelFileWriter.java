@@ -0,0 +1,172 @@
+// src/main/java/com/generator/ChannelFileWriter.java
+
+package com.generator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Escritura de un archivo en UTF-8 sin buffers nuevos por archivo.
+ *
+ * Cada hilo reutiliza su codificador, un buffer de caracteres y un
+ * {@link ByteBuffer} directo que se vuelca en el {@link FileChannel}. El
+ * buffer directo crece (hasta {@link #MAX_BUFFER_BYTES}) según el tamaño del
+ * bloque, de modo que la mayoría de archivos se escriben con una sola llamada
+ * al sistema; una vez calentado, escribir otro archivo solo reserva el canal.
+ */
+final class ChannelFileWriter implements Appendable, Closeable {
+
+    private static final int MIN_BUFFER_BYTES = 8 * 1024;
+    private static final int MAX_BUFFER_BYTES = 1024 * 1024;
+    private static final int CHAR_BUFFER_SIZE = 4 * 1024;
+
+    private static final Set<OpenOption> OPEN_OPTIONS = Set.copyOf(EnumSet.of(
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE));
+
+    private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+    // Codificador y buffers de un hilo, reutilizados entre archivos
+    private static final class Buffers {
+        final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        final char[] chars = new char[CHAR_BUFFER_SIZE];
+        final CharBuffer charBuffer = CharBuffer.wrap(chars);
+        ByteBuffer bytes = ByteBuffer.allocateDirect(MIN_BUFFER_BYTES);
+        boolean inUse;
+
+        ByteBuffer bytesFor(int expectedBytes) {
+            if (bytes.capacity() < expectedBytes && bytes.capacity() < MAX_BUFFER_BYTES) {
+                bytes = ByteBuffer.allocateDirect(Math.min(MAX_BUFFER_BYTES,
+                        Integer.highestOneBit(Math.max(MIN_BUFFER_BYTES, expectedBytes - 1)) << 1));
+            }
+            bytes.clear();
+            return bytes;
+        }
+    }
+
+    private final FileChannel channel;
+    private final Buffers buffers;
+    private final CharsetEncoder encoder;
+    private final CharBuffer pending;
+    private final ByteBuffer out;
+    private long written;
+
+    private ChannelFileWriter(FileChannel channel, Buffers buffers, int expectedChars) {
+        this.channel = channel;
+        this.buffers = buffers;
+        this.encoder = buffers.encoder.reset();
+        this.pending = buffers.charBuffer;
+        this.pending.clear();
+        // El contenido transformado suele ocupar algo más que el bloque (cabeceras, saltos CRLF)
+        long expectedBytes = (long) expectedChars + expectedChars / 8 + 256;
+        this.out = buffers.bytesFor((int) Math.min(MAX_BUFFER_BYTES, expectedBytes));
+    }
+
+    /**
+     * Crea o trunca el archivo. {@code expectedChars} dimensiona el buffer del
+     * hilo para que el archivo quepa entero, si no es demasiado grande.
+     */
+    static ChannelFileWriter open(Path file, int expectedChars) throws IOException {
+        Buffers buffers = BUFFERS.get();
+        if (buffers.inUse) {
+            // Escritura anidada en el mismo hilo: buffers propios
+            buffers = new Buffers();
+        }
+        FileChannel channel = FileChannel.open(file, OPEN_OPTIONS);
+        buffers.inUse = true;
+        return new ChannelFileWriter(channel, buffers, expectedChars);
+    }
+
+    @Override
+    public Appendable append(CharSequence text) throws IOException {
+        return append(text, 0, text.length());
+    }
+
+    @Override
+    public Appendable append(CharSequence text, int start, int end) throws IOException {
+        while (start < end) {
+            int count = Math.min(end - start, pending.remaining());
+            int position = pending.position();
+            if (text instanceof String) {
+                ((String) text).getChars(start, start + count, buffers.chars, position);
+            } else {
+                for (int i = 0; i < count; i++) {
+                    buffers.chars[position + i] = text.charAt(start + i);
+                }
+            }
+            pending.position(position + count);
+            start += count;
+            if (!pending.hasRemaining()) {
+                encodePending(false);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public Appendable append(char c) throws IOException {
+        if (!pending.hasRemaining()) {
+            encodePending(false);
+        }
+        pending.put(c);
+        return this;
+    }
+
+    /**
+     * Bytes escritos en el archivo (válido tras {@link #close()}).
+     */
+    long getBytesWritten() {
+        return written;
+    }
+
+    private void encodePending(boolean endOfInput) throws IOException {
+        pending.flip();
+        while (true) {
+            CoderResult result = encoder.encode(pending, out, endOfInput);
+            if (result.isOverflow()) {
+                drain();
+            } else if (result.isError()) {
+                result.throwException();
+            } else {
+                break;
+            }
+        }
+        // Un sustituto alto al final de la tanda se conserva para la siguiente
+        pending.compact();
+    }
+
+    private void drain() throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            written += channel.write(out);
+        }
+        out.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            encodePending(true);
+            while (encoder.flush(out).isOverflow()) {
+                drain();
+            }
+            drain();
+        } finally {
+            buffers.inUse = false;
+            channel.close();
+        }
+    }
+}
@@ -10,10 +10,13 @@ public class CodeBlock {
     private final int order;
     private final String filePath;
     private final String language;
-    private final String content;
+    private final BlockContent content;
     private final String phase;
+    private final int phaseOrdinal;
     private final String description;
     private final BlockType type;
+    private final String sourceFile;
+    private final int sourceLine;
 
     public enum BlockType {
         PRODUCTION_CODE("Código de Producción", "PROD"),
@@ -44,13 +47,16 @@ public class CodeBlock {
         this.order = builder.order;
         this.filePath = builder.filePath;
         this.language = builder.language;
-        this.content = builder.content;
+        this.content = builder.content != null ? builder.content : BlockContent.of("");
         this.phase = builder.phase;
+        this.phaseOrdinal = builder.phaseOrdinal;
         this.description = builder.description;
         this.type = determineType(builder.filePath, builder.language);
+        this.sourceFile = builder.sourceFile;
+        this.sourceLine = builder.sourceLine;
     }
 
-    private static BlockType determineType(String filePath, String language) {
+    static BlockType determineType(String filePath, String language) {
         if (filePath == null) return BlockType.OTHER;
         
         String path = filePath.toLowerCase();
@@ -96,10 +102,17 @@ public class CodeBlock {
     public int getOrder() { return order; }
     public String getFilePath() { return filePath; }
     public String getLanguage() { return language; }
-    public String getContent() { return content; }
+    public String getContent() { return content.get(); }
+    public int getContentLength() { return content.length(); }
     public String getPhase() { return phase; }
+    /** Número de la fase (desde 1) en la guía completa, aunque se filtren bloques, o 0 si se desconoce. */
+    public int getPhaseOrdinal() { return phaseOrdinal; }
     public String getDescription() { return description; }
     public BlockType getType() { return type; }
+    /** Archivo de la guía (o capítulo) del que procede el bloque, si se conoce. */
+    public String getSourceFile() { return sourceFile; }
+    /** Línea de la guía (desde 1) de la primera línea del contenido, o 0 si se desconoce. */
+    public int getSourceLine() { return sourceLine; }
 
     public boolean isJavaFile() {
         return filePath != null && filePath.endsWith(".java");
@@ -134,6 +147,21 @@ public class CodeBlock {
         return lastDot >= 0 ? filePath.substring(lastDot + 1) : "";
     }
 
+    /**
+     * Crea un builder con los datos de este bloque, para derivar variantes.
+     */
+    public Builder toBuilder() {
+        return new Builder()
+            .order(order)
+            .filePath(filePath)
+            .language(language)
+            .content(content)
+            .phase(phase)
+            .phaseOrdinal(phaseOrdinal)
+            .description(description)
+            .source(sourceFile, sourceLine);
+    }
+
     @Override
     public String toString() {
         return String.format("[%d] %s - %s (%s)", 
@@ -145,9 +173,12 @@ public class CodeBlock {
         private int order;
         private String filePath;
         private String language = "text";
-        private String content;
+        private BlockContent content;
         private String phase = "General";
+        private int phaseOrdinal;
         private String description = "";
+        private String sourceFile;
+        private int sourceLine;
 
         public Builder order(int order) {
             this.order = order;
@@ -165,6 +196,11 @@ public class CodeBlock {
         }
 
         public Builder content(String content) {
+            this.content = BlockContent.of(content);
+            return this;
+        }
+
+        public Builder content(BlockContent content) {
             this.content = content;
             return this;
         }
@@ -174,11 +210,22 @@ public class CodeBlock {
             return this;
         }
 
+        public Builder phaseOrdinal(int phaseOrdinal) {
+            this.phaseOrdinal = phaseOrdinal;
+            return this;
+        }
+
         public Builder description(String description) {
             this.description = description;
             return this;
         }
 
+        public Builder source(String sourceFile, int sourceLine) {
+            this.sourceFile = sourceFile;
+            this.sourceLine = sourceLine;
+            return this;
+        }
+
         public CodeBlock build() {
             return new CodeBlock(this);
         }
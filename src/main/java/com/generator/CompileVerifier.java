@@ -0,0 +1,301 @@
+// src/main/java/com/generator/CompileVerifier.java
+
+package com.generator;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compila en memoria las fuentes Java que generaría la guía, sin escribirlas a disco.
+ *
+ * Se toma la última versión de cada ruta .java. Primero se compila el código de
+ * producción y después los tests, con las clases de producción (también en
+ * memoria) disponibles en el classpath. Los diagnósticos se traducen al bloque,
+ * fase y línea de la guía de los que procede el código.
+ */
+public class CompileVerifier {
+
+    private final List<CodeBlock> blocks;
+    private final String classpath;
+    private final List<Problem> problems = new ArrayList<>();
+    private int compiledFiles = 0;
+
+    public CompileVerifier(List<CodeBlock> blocks, String classpath) {
+        this.blocks = blocks;
+        this.classpath = classpath;
+    }
+
+    /**
+     * Diagnóstico del compilador ubicado en la guía.
+     */
+    public static final class Problem {
+        private final Diagnostic.Kind kind;
+        private final CodeBlock block;
+        private final long fileLine;
+        private final int guideLine;
+        private final String message;
+
+        Problem(Diagnostic.Kind kind, CodeBlock block, long fileLine, int guideLine, String message) {
+            this.kind = kind;
+            this.block = block;
+            this.fileLine = fileLine;
+            this.guideLine = guideLine;
+            this.message = message;
+        }
+
+        public Diagnostic.Kind getKind() { return kind; }
+        public CodeBlock getBlock() { return block; }
+        public long getFileLine() { return fileLine; }
+        public int getGuideLine() { return guideLine; }
+        public String getMessage() { return message; }
+        public boolean isError() { return kind == Diagnostic.Kind.ERROR; }
+
+        @Override
+        public String toString() {
+            if (block == null) {
+                return message;
+            }
+            String guide = block.getSourceFile() != null ? block.getSourceFile() : "guia";
+            String location = guideLine > 0 ? guide + ":" + guideLine : guide;
+            return String.format("[%d] %s | %s | %s:%d: %s",
+                    block.getOrder(), block.getPhase(), location,
+                    block.getFilePath(), fileLine, message);
+        }
+    }
+
+    /**
+     * Compila producción y tests. Devuelve true si no hubo errores.
+     */
+    public boolean verify() throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IOException("No hay compilador disponible: ejecute el generador con un JDK, no un JRE");
+        }
+
+        // Última versión de cada archivo Java, separada por tipo
+        Map<String, CodeBlock> latestByPath = new LinkedHashMap<>();
+        for (CodeBlock block : blocks) {
+            if (block.getFilePath() != null && block.getFilePath().endsWith(".java")) {
+                latestByPath.remove(block.getFilePath());
+                latestByPath.put(block.getFilePath(), block);
+            }
+        }
+        List<BlockSource> mainSources = new ArrayList<>();
+        List<BlockSource> testSources = new ArrayList<>();
+        ContentPipeline pipeline = ContentPipeline.getDefault();
+        for (CodeBlock block : latestByPath.values()) {
+            BlockSource source = new BlockSource(block, pipeline.render(block));
+            if (block.getType() == CodeBlock.BlockType.TEST_CODE) {
+                testSources.add(source);
+            } else {
+                mainSources.add(source);
+            }
+        }
+
+        StandardJavaFileManager standard = compiler.getStandardFileManager(null, Locale.getDefault(), StandardCharsets.UTF_8);
+        try (MemoryFileManager fileManager = new MemoryFileManager(standard)) {
+            boolean ok = compile(compiler, fileManager, mainSources);
+            // Los tests dependen del código de producción: solo se compilan si este compila
+            if (ok) {
+                ok = compile(compiler, fileManager, testSources);
+            }
+            return ok;
+        }
+    }
+
+    private boolean compile(JavaCompiler compiler, MemoryFileManager fileManager,
+                            List<BlockSource> sources) {
+        if (sources.isEmpty()) {
+            return true;
+        }
+
+        List<String> options = new ArrayList<>(Arrays.asList("-proc:none", "-encoding", "UTF-8"));
+        if (classpath != null && !classpath.isEmpty()) {
+            options.add("-classpath");
+            options.add(classpath);
+        }
+
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        boolean ok = compiler.getTask(null, fileManager, diagnostics, options, null, sources).call();
+        compiledFiles += sources.size();
+
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() != Diagnostic.Kind.ERROR
+                    && diagnostic.getKind() != Diagnostic.Kind.WARNING
+                    && diagnostic.getKind() != Diagnostic.Kind.MANDATORY_WARNING) {
+                continue;
+            }
+            problems.add(toProblem(diagnostic));
+        }
+        return ok;
+    }
+
+    private static Problem toProblem(Diagnostic<? extends JavaFileObject> diagnostic) {
+        String message = diagnostic.getMessage(Locale.getDefault());
+        if (!(diagnostic.getSource() instanceof BlockSource)) {
+            return new Problem(diagnostic.getKind(), null, 0, 0, message);
+        }
+
+        BlockSource source = (BlockSource) diagnostic.getSource();
+        CodeBlock block = source.block;
+        long fileLine = diagnostic.getLineNumber();
+        int guideLine = 0;
+        if (block.getSourceLine() > 0 && fileLine > 0) {
+            // Las líneas añadidas por el generador (p. ej. el package) no existen en la guía
+            long lineInBlock = Math.max(1, fileLine - source.injectedLines);
+            guideLine = (int) (block.getSourceLine() + lineInBlock - 1);
+        }
+        return new Problem(diagnostic.getKind(), block, fileLine, guideLine, message);
+    }
+
+    public List<Problem> getProblems() { return problems; }
+    public int getCompiledFiles() { return compiledFiles; }
+
+    public long getErrorCount() {
+        return problems.stream().filter(Problem::isError).count();
+    }
+
+    /**
+     * Fuente Java en memoria con el contenido que escribiría el generador.
+     */
+    private static final class BlockSource extends SimpleJavaFileObject {
+        final CodeBlock block;
+        final String content;
+        final int injectedLines;
+
+        BlockSource(CodeBlock block, String content) {
+            super(URI.create("mem:///" + block.getFilePath()), Kind.SOURCE);
+            this.block = block;
+            this.content = content;
+            this.injectedLines = headerLines(content, block.getContent());
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return content;
+        }
+
+        /**
+         * Líneas que el pipeline escribió antes de la primera línea del bloque
+         * (package, licencia...).
+         */
+        private static int headerLines(String rendered, String original) {
+            int firstLineEnd = original.indexOf('\n');
+            String firstLine = (firstLineEnd < 0 ? original : original.substring(0, firstLineEnd)).strip();
+            int position = firstLine.isEmpty() ? -1 : rendered.indexOf(firstLine);
+            if (position < 0) return 0;
+            int lines = 0;
+            for (int i = 0; i < position; i++) {
+                if (rendered.charAt(i) == '\n') lines++;
+            }
+            return lines;
+        }
+    }
+
+    /**
+     * Clase compilada (o fuente generada) guardada en memoria.
+     */
+    private static final class MemoryOutput extends SimpleJavaFileObject {
+        final String binaryName;
+        private byte[] bytes = new byte[0];
+
+        MemoryOutput(String binaryName, Kind kind) {
+            super(URI.create("mem:///" + binaryName.replace('.', '/') + kind.extension), kind);
+            this.binaryName = binaryName;
+        }
+
+        @Override
+        public OutputStream openOutputStream() {
+            return new ByteArrayOutputStream() {
+                @Override
+                public void close() throws IOException {
+                    super.close();
+                    bytes = toByteArray();
+                }
+            };
+        }
+
+        @Override
+        public InputStream openInputStream() {
+            return new ByteArrayInputStream(bytes);
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Gestor de archivos que guarda las salidas en memoria y las ofrece como
+     * parte del classpath a las compilaciones siguientes.
+     */
+    private static final class MemoryFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+        private final Map<String, MemoryOutput> classes = new LinkedHashMap<>();
+
+        MemoryFileManager(StandardJavaFileManager fileManager) {
+            super(fileManager);
+        }
+
+        @Override
+        public JavaFileObject getJavaFileForOutput(Location location, String className,
+                                                   JavaFileObject.Kind kind, FileObject sibling) {
+            MemoryOutput output = new MemoryOutput(className, kind);
+            if (kind == JavaFileObject.Kind.CLASS) {
+                classes.put(className, output);
+            }
+            return output;
+        }
+
+        @Override
+        public Iterable<JavaFileObject> list(Location location, String packageName,
+                                             Set<JavaFileObject.Kind> kinds, boolean recurse) throws IOException {
+            Iterable<JavaFileObject> standard = super.list(location, packageName, kinds, recurse);
+            if (location != StandardLocation.CLASS_PATH || !kinds.contains(JavaFileObject.Kind.CLASS)) {
+                return standard;
+            }
+
+            List<JavaFileObject> result = new ArrayList<>();
+            standard.forEach(result::add);
+            String prefix = packageName.isEmpty() ? "" : packageName + ".";
+            for (MemoryOutput output : classes.values()) {
+                if (!output.binaryName.startsWith(prefix)) continue;
+                String rest = output.binaryName.substring(prefix.length());
+                if (recurse || rest.indexOf('.') < 0) {
+                    result.add(output);
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public String inferBinaryName(Location location, JavaFileObject file) {
+            if (file instanceof MemoryOutput) {
+                return ((MemoryOutput) file).binaryName;
+            }
+            return super.inferBinaryName(location, file);
+        }
+    }
+}
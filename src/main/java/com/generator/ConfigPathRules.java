@@ -0,0 +1,298 @@
+// src/main/java/com/generator/ConfigPathRules.java
+
+package com.generator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Tabla de reglas para inferir la ruta de bloques de configuración.
+ *
+ * Las reglas se indexan por lenguaje normalizado, de modo que cada bloque solo
+ * evalúa las reglas de su lenguaje más las comodín, en el orden canónico.
+ * Las condiciones comparan regiones sin copiar ni cambiar de mayúsculas el bloque.
+ *
+ * Se pueden añadir reglas desde un archivo con líneas de la forma
+ * <pre>
+ *   # lenguaje | condición [&amp;&amp; condición...] | ruta
+ *   yaml | contains:kind: Deployment | k8s/deployment.yml
+ *   *    | startsWith:FROM node       | Dockerfile
+ * </pre>
+ * Condiciones: {@code contains:}, {@code icontains:}, {@code startsWith:} y
+ * {@code context:} (busca en la sección y las líneas previas, sin distinguir
+ * mayúsculas). Las reglas del usuario tienen prioridad sobre las predefinidas.
+ */
+public class ConfigPathRules {
+
+    private static final String ANY_LANGUAGE = "*";
+
+    private static final Pattern SCRIPT_NAME_PATTERN = Pattern.compile("([a-zA-Z][a-zA-Z0-9_-]*+\\.sh)");
+
+    private static final Map<String, String> LANGUAGE_ALIASES = Map.of(
+            "yml", "yaml",
+            "sh", "bash",
+            "shell", "bash",
+            "groovy", "gradle",
+            "kts", "kotlin");
+
+    private final List<Rule> rules;
+    private final Map<String, Rule[]> rulesByLanguage = new HashMap<>();
+    private final Rule[] wildcardRules;
+
+    private ConfigPathRules(List<Rule> rules) {
+        this.rules = rules;
+
+        Map<String, List<Rule>> grouped = new HashMap<>();
+        List<Rule> wildcard = new ArrayList<>();
+        for (Rule rule : rules) {
+            if (rule.language.equals(ANY_LANGUAGE)) {
+                wildcard.add(rule);
+            } else {
+                grouped.computeIfAbsent(rule.language, k -> new ArrayList<>()).add(rule);
+            }
+        }
+
+        // Cada lenguaje ve sus reglas y las comodín intercaladas en orden de prioridad
+        for (Map.Entry<String, List<Rule>> entry : grouped.entrySet()) {
+            List<Rule> merged = new ArrayList<>(entry.getValue());
+            merged.addAll(wildcard);
+            merged.sort(Comparator.comparingInt(r -> r.priority));
+            rulesByLanguage.put(entry.getKey(), merged.toArray(new Rule[0]));
+        }
+        this.wildcardRules = wildcard.toArray(new Rule[0]);
+    }
+
+    /**
+     * Reglas predefinidas, equivalentes a la inferencia histórica del parser.
+     */
+    public static ConfigPathRules defaults() {
+        List<Rule> rules = new ArrayList<>();
+        Condition springConfig = anyOf(contains("spring:"), contains("server:"),
+                contains("datasource:"), contains("jpa:"));
+        Condition gradleBuild = anyOf(contains("plugins {"), contains("dependencies {"));
+
+        add(rules, "xml", contains("<project"), "pom.xml");
+        add(rules, "xml", anyOf(contains("<beans"), contains("<configuration")),
+                "src/main/resources/application-context.xml");
+
+        add(rules, "yaml", allOf(springConfig, contextContains("test")),
+                "src/test/resources/application-test.yml");
+        add(rules, "yaml", springConfig, "src/main/resources/application.yml");
+        add(rules, "yaml", allOf(contains("services:"), contains("image:")), "docker-compose.yml");
+
+        add(rules, "properties", contextContains("test"), "src/test/resources/application-test.properties");
+        add(rules, "properties", always(), "src/main/resources/application.properties");
+
+        add(rules, "sql", containsIgnoreCase("CREATE TABLE"), "src/main/resources/schema.sql");
+        add(rules, "sql", containsIgnoreCase("INSERT INTO"), "src/main/resources/data.sql");
+        add(rules, "sql", always(), "src/main/resources/script.sql");
+
+        add(rules, "dockerfile", always(), "Dockerfile");
+        add(rules, ANY_LANGUAGE, startsWith("FROM "), "Dockerfile");
+
+        rules.add(new Rule(rules.size(), "bash", always(), ConfigPathRules::scriptPath));
+        rules.add(new Rule(rules.size(), ANY_LANGUAGE, startsWith("#!/bin/"), ConfigPathRules::scriptPath));
+
+        add(rules, "gradle", gradleBuild, "build.gradle");
+        add(rules, "kotlin", gradleBuild, "build.gradle.kts");
+
+        return new ConfigPathRules(rules);
+    }
+
+    /**
+     * Devuelve una nueva tabla con las reglas del archivo delante de las actuales.
+     */
+    public ConfigPathRules withRulesFrom(Path file) throws IOException {
+        List<Rule> userRules = new ArrayList<>();
+        List<String> lines = Files.readAllLines(file);
+
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+
+            String[] parts = line.split("\\|");
+            if (parts.length != 3) {
+                throw new IOException("Regla inválida en " + file + ":" + (i + 1)
+                        + " (se esperaba 'lenguaje | condición | ruta')");
+            }
+
+            String language = normalizeLanguage(parts[0]);
+            String path = parts[2].trim();
+            List<Condition> conditions = new ArrayList<>();
+            for (String spec : parts[1].split("&&")) {
+                conditions.add(parseCondition(spec.trim(), file, i + 1));
+            }
+            Condition condition = conditions.size() == 1
+                    ? conditions.get(0)
+                    : allOf(conditions.toArray(new Condition[0]));
+            userRules.add(new Rule(userRules.size(), language, condition, input -> path));
+        }
+
+        List<Rule> combined = new ArrayList<>(userRules);
+        for (Rule rule : rules) {
+            combined.add(new Rule(userRules.size() + rule.priority, rule.language, rule.condition, rule.result));
+        }
+        return new ConfigPathRules(combined);
+    }
+
+    /**
+     * Aplica las reglas del lenguaje del bloque y devuelve la primera ruta encontrada.
+     */
+    public String infer(String language, String code, String section, String linesBefore) {
+        Rule[] candidates = rulesByLanguage.getOrDefault(normalizeLanguage(language), wildcardRules);
+        Input input = new Input(code, section, linesBefore);
+
+        for (Rule rule : candidates) {
+            if (rule.condition.test(input)) {
+                String path = rule.result.resolve(input);
+                if (path != null) return path;
+            }
+        }
+        return null;
+    }
+
+    public int size() {
+        return rules.size();
+    }
+
+    static String normalizeLanguage(String language) {
+        if (language == null) return "";
+        String normalized = language.trim().toLowerCase(Locale.ROOT);
+        return LANGUAGE_ALIASES.getOrDefault(normalized, normalized);
+    }
+
+    private static String scriptPath(Input input) {
+        Matcher matcher = SCRIPT_NAME_PATTERN.matcher(input.section);
+        if (matcher.find()) {
+            return "scripts/" + matcher.group(1);
+        }
+        return "scripts/script.sh";
+    }
+
+    private static Condition parseCondition(String spec, Path file, int lineNumber) throws IOException {
+        int colon = spec.indexOf(':');
+        String kind = colon > 0 ? spec.substring(0, colon).trim() : spec;
+        String argument = colon > 0 ? spec.substring(colon + 1) : "";
+
+        switch (kind) {
+            case "contains":
+                return contains(argument);
+            case "icontains":
+                return containsIgnoreCase(argument);
+            case "startsWith":
+                return startsWith(argument);
+            case "context":
+                return contextContains(argument.trim());
+            case "always":
+                return always();
+            default:
+                throw new IOException("Condición desconocida '" + kind + "' en " + file + ":" + lineNumber);
+        }
+    }
+
+    private static void add(List<Rule> rules, String language, Condition condition, String path) {
+        rules.add(new Rule(rules.size(), language, condition, input -> path));
+    }
+
+    // ---- Condiciones ----
+
+    private static Condition always() {
+        return input -> true;
+    }
+
+    private static Condition contains(String literal) {
+        return input -> input.code.contains(literal);
+    }
+
+    private static Condition containsIgnoreCase(String literal) {
+        return input -> indexOfIgnoreCase(input.code, literal) >= 0;
+    }
+
+    private static Condition startsWith(String literal) {
+        return input -> {
+            String code = input.code;
+            int first = 0;
+            while (first < code.length() && Character.isWhitespace(code.charAt(first))) first++;
+            return code.startsWith(literal, first);
+        };
+    }
+
+    private static Condition contextContains(String literal) {
+        return input -> indexOfIgnoreCase(input.section, literal) >= 0
+                || indexOfIgnoreCase(input.linesBefore, literal) >= 0;
+    }
+
+    private static Condition anyOf(Condition... conditions) {
+        return input -> {
+            for (Condition condition : conditions) {
+                if (condition.test(input)) return true;
+            }
+            return false;
+        };
+    }
+
+    private static Condition allOf(Condition... conditions) {
+        return input -> {
+            for (Condition condition : conditions) {
+                if (!condition.test(input)) return false;
+            }
+            return true;
+        };
+    }
+
+    static int indexOfIgnoreCase(String text, String literal) {
+        if (text == null) return -1;
+        int last = text.length() - literal.length();
+        for (int i = 0; i <= last; i++) {
+            if (text.regionMatches(true, i, literal, 0, literal.length())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // ---- Tipos internos ----
+
+    private interface Condition {
+        boolean test(Input input);
+    }
+
+    private interface PathResult {
+        String resolve(Input input);
+    }
+
+    private static class Input {
+        final String code;
+        final String section;
+        final String linesBefore;
+
+        Input(String code, String section, String linesBefore) {
+            this.code = code;
+            this.section = section != null ? section : "";
+            this.linesBefore = linesBefore != null ? linesBefore : "";
+        }
+    }
+
+    private static class Rule {
+        final int priority;
+        final String language;
+        final Condition condition;
+        final PathResult result;
+
+        Rule(int priority, String language, Condition condition, PathResult result) {
+            this.priority = priority;
+            this.language = language;
+            this.condition = condition;
+            this.result = result;
+        }
+    }
+}
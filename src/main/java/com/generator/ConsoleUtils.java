@@ -10,13 +10,28 @@ import static org.fusesource.jansi.Ansi.ansi;
 /**
  * Utilidades para la consola con soporte de colores.
  * Usa solo caracteres ASCII para compatibilidad.
+ *
+ * Jansi se carga de forma perezosa: solo cuando la salida es una terminal
+ * y se imprime algo con color. Sin terminal (CI, tuberías) o con --no-color
+ * se escribe texto plano sin tocar las clases de Jansi.
  */
 public class ConsoleUtils {
 
     private static boolean initialized = false;
+    private static Boolean colorsEnabled = null;
 
+    /**
+     * Fuerza la activación o desactivación de colores (p. ej. para --no-color).
+     */
+    public static void setColorsEnabled(boolean enabled) {
+        colorsEnabled = enabled;
+    }
+
+    /**
+     * Instala la consola de Jansi si aún no está instalada y hay colores.
+     */
     public static void init() {
-        if (!initialized) {
+        if (!initialized && colors()) {
             AnsiConsole.systemInstall();
             initialized = true;
         }
@@ -29,118 +44,166 @@ public class ConsoleUtils {
         }
     }
 
-    public static void printHeader(String text) {
-        System.out.println();
-        System.out.println(ansi().fgBrightCyan().a(repeat("=", 70)).reset());
-        System.out.println(ansi().fgBrightCyan().bold().a("  " + text).reset());
-        System.out.println(ansi().fgBrightCyan().a(repeat("=", 70)).reset());
+    private static boolean colors() {
+        if (colorsEnabled == null) {
+            colorsEnabled = System.console() != null && System.getenv("NO_COLOR") == null;
+        }
+        return colorsEnabled;
+    }
+
+    /**
+     * Devuelve true si hay que pintar con colores, instalando Jansi la primera vez.
+     */
+    private static boolean useAnsi() {
+        if (!colors()) {
+            return false;
+        }
+        init();
+        return true;
+    }
+
+    /**
+     * Estilos de la consola. No nombran tipos de Jansi, así que usarlos sin
+     * colores no carga sus clases.
+     */
+    private enum Style {
+        BOLD, RED, GREEN, YELLOW, BLUE, MAGENTA, CYAN, WHITE,
+        BRIGHT_BLACK, BRIGHT_RED, BRIGHT_GREEN, BRIGHT_YELLOW, BRIGHT_BLUE,
+        BRIGHT_MAGENTA, BRIGHT_CYAN, BRIGHT_WHITE, CLEAR_SCREEN
+    }
+
+    /**
+     * Devuelve el texto con los estilos ANSI si hay colores, o tal cual si no.
+     * Es el único punto que decide entre color y texto plano.
+     */
+    private static String paint(String text, Style... styles) {
+        if (!useAnsi()) {
+            return text;
+        }
+        Ansi ansi = ansi();
+        for (Style style : styles) {
+            ansi = apply(ansi, style);
+        }
+        return ansi.a(text).reset().toString();
+    }
+
+    private static Ansi apply(Ansi ansi, Style style) {
+        switch (style) {
+            case BOLD: return ansi.bold();
+            case RED: return ansi.fgRed();
+            case GREEN: return ansi.fgGreen();
+            case YELLOW: return ansi.fgYellow();
+            case BLUE: return ansi.fgBlue();
+            case MAGENTA: return ansi.fgMagenta();
+            case CYAN: return ansi.fgCyan();
+            case WHITE: return ansi.fg(Ansi.Color.WHITE);
+            case BRIGHT_BLACK: return ansi.fgBrightBlack();
+            case BRIGHT_RED: return ansi.fgBrightRed();
+            case BRIGHT_GREEN: return ansi.fgBrightGreen();
+            case BRIGHT_YELLOW: return ansi.fgBrightYellow();
+            case BRIGHT_BLUE: return ansi.fgBrightBlue();
+            case BRIGHT_MAGENTA: return ansi.fgBrightMagenta();
+            case BRIGHT_CYAN: return ansi.fgBrightCyan();
+            case BRIGHT_WHITE: return ansi.fgBright(Ansi.Color.WHITE);
+            case CLEAR_SCREEN: return ansi.eraseScreen().cursor(1, 1);
+            default: return ansi;
+        }
+    }
+
+    // System.out se lee después de pintar: la primera llamada a paint instala la consola de Jansi
+    private static void println(String line) {
+        System.out.println(line);
+    }
+
+    private static void println() {
         System.out.println();
     }
 
+    private static void print(String text) {
+        System.out.print(text);
+    }
+
+    public static void printHeader(String text) {
+        println();
+        println(paint(repeat("=", 70), Style.BRIGHT_CYAN));
+        println(paint("  " + text, Style.BRIGHT_CYAN, Style.BOLD));
+        println(paint(repeat("=", 70), Style.BRIGHT_CYAN));
+        println();
+    }
+
     public static void printSubHeader(String text) {
-        System.out.println();
-        System.out.println(ansi().fgYellow().a(repeat("-", 50)).reset());
-        System.out.println(ansi().fgYellow().bold().a("  " + text).reset());
-        System.out.println(ansi().fgYellow().a(repeat("-", 50)).reset());
+        println();
+        println(paint(repeat("-", 50), Style.YELLOW));
+        println(paint("  " + text, Style.YELLOW, Style.BOLD));
+        println(paint(repeat("-", 50), Style.YELLOW));
     }
 
     public static void printSuccess(String text) {
-        System.out.println(ansi().fgBrightGreen().a("[OK] ").reset().a(text));
+        println(paint("[OK] ", Style.BRIGHT_GREEN) + text);
     }
 
     public static void printError(String text) {
-        System.out.println(ansi().fgBrightRed().a("[ERROR] ").reset().a(text));
+        println(paint("[ERROR] ", Style.BRIGHT_RED) + text);
     }
 
     public static void printWarning(String text) {
-        System.out.println(ansi().fgBrightYellow().a("[WARN] ").reset().a(text));
+        println(paint("[WARN] ", Style.BRIGHT_YELLOW) + text);
     }
 
     public static void printInfo(String text) {
-        System.out.println(ansi().fgBrightBlue().a("[INFO] ").reset().a(text));
+        println(paint("[INFO] ", Style.BRIGHT_BLUE) + text);
     }
 
     public static void printPhase(String phase) {
-        System.out.println();
-        System.out.println(ansi().fgBrightMagenta().bold().a(">> " + phase).reset());
+        println();
+        println(paint(">> " + phase, Style.BRIGHT_MAGENTA, Style.BOLD));
     }
 
     public static void printCodeBlock(CodeBlock block) {
-        Ansi.Color typeColor;
-        switch (block.getType()) {
+        Style typeStyle = typeStyle(block.getType());
+
+        println();
+        println(paint("+-- ", typeStyle)
+                + paint(block.getFileName(), typeStyle, Style.BOLD)
+                + paint(" [" + block.getType().getDisplayName() + "]", typeStyle));
+        println(paint("|   Path: " + block.getPackagePath(), Style.BRIGHT_BLACK));
+        if (!block.getDescription().isEmpty()) {
+            println(paint("|   Desc: " + block.getDescription(), Style.BRIGHT_BLACK));
+        }
+        println(paint("+" + repeat("-", 60), typeStyle));
+    }
+
+    private static Style typeStyle(CodeBlock.BlockType type) {
+        switch (type) {
             case TEST_CODE:
-                typeColor = Ansi.Color.GREEN;
-                break;
+                return Style.GREEN;
             case PRODUCTION_CODE:
-                typeColor = Ansi.Color.BLUE;
-                break;
+                return Style.BLUE;
             case CONFIGURATION:
-                typeColor = Ansi.Color.YELLOW;
-                break;
+                return Style.YELLOW;
             case RESOURCE:
-                typeColor = Ansi.Color.CYAN;
-                break;
+                return Style.CYAN;
             case SCRIPT:
-                typeColor = Ansi.Color.MAGENTA;
-                break;
+                return Style.MAGENTA;
             case OTHER:
             default:
-                typeColor = Ansi.Color.WHITE;
-                break;
-        }
-
-        System.out.println();
-        System.out.println(ansi()
-                .fg(typeColor)
-                .a("+-- ")
-                .bold()
-                .a(block.getFileName())
-                .reset()
-                .fg(typeColor)
-                .a(" [" + block.getType().getDisplayName() + "]")
-                .reset());
-
-        System.out.println(ansi()
-                .fgBrightBlack()
-                .a("|   Path: " + block.getPackagePath())
-                .reset());
-
-        if (!block.getDescription().isEmpty()) {
-            System.out.println(ansi()
-                    .fgBrightBlack()
-                    .a("|   Desc: " + block.getDescription())
-                    .reset());
+                return Style.WHITE;
         }
-
-        System.out.println(ansi()
-                .fg(typeColor)
-                .a("+" + repeat("-", 60))
-                .reset());
     }
 
     public static void printCodePreview(String code, int maxLines) {
         String[] lines = code.split("\n");
         int linesToShow = Math.min(lines.length, maxLines);
 
-        System.out.println(ansi().fgBrightBlack().a("    +-- Codigo --").reset());
-
+        println(paint("    +-- Codigo --", Style.BRIGHT_BLACK));
         for (int i = 0; i < linesToShow; i++) {
-            String lineNum = String.format("%3d", i + 1);
-            System.out.println(ansi()
-                    .fgBrightBlack()
-                    .a("    | " + lineNum + " | ")
-                    .reset()
-                    .a(truncate(lines[i], 55)));
+            println(paint("    | " + String.format("%3d", i + 1) + " | ", Style.BRIGHT_BLACK)
+                    + truncate(lines[i], 55));
         }
-
         if (lines.length > maxLines) {
-            System.out.println(ansi()
-                    .fgBrightBlack()
-                    .a("    | ... (" + (lines.length - maxLines) + " lineas mas)")
-                    .reset());
+            println(paint("    | ... (" + (lines.length - maxLines) + " lineas mas)", Style.BRIGHT_BLACK));
         }
-
-        System.out.println(ansi().fgBrightBlack().a("    +" + repeat("-", 15)).reset());
+        println(paint("    +" + repeat("-", 15), Style.BRIGHT_BLACK));
     }
 
     public static void printProgress(int current, int total) {
@@ -154,56 +217,33 @@ public class ConsoleUtils {
         for (int i = 0; i < empty; i++) bar.append(".");
         bar.append("]");
 
-        System.out.print(ansi()
-                .saveCursorPosition()
-                .eraseLine()
-                .fgBrightBlue()
-                .a("\r" + bar.toString() + " ")
-                .reset()
-                .a(String.format("%d%% (%d/%d)", percentage, current, total))
-                .restoreCursorPosition());
+        print("\r" + paint(bar + " ", Style.BRIGHT_BLUE)
+                + String.format("%d%% (%d/%d)", percentage, current, total));
     }
 
     public static void printMenu(String... options) {
-        System.out.println();
-        System.out.println(ansi().fgBright(Ansi.Color.WHITE).bold().a("Opciones:").reset());
+        println();
+        println(paint("Opciones:", Style.BRIGHT_WHITE, Style.BOLD));
         for (int i = 0; i < options.length; i++) {
-            System.out.println(ansi()
-                    .fgBrightCyan()
-                    .a("  [" + (i + 1) + "] ")
-                    .reset()
-                    .a(options[i]));
+            println(paint("  [" + (i + 1) + "] ", Style.BRIGHT_CYAN) + options[i]);
         }
-        System.out.println();
+        println();
     }
 
     public static void printDiff(String existing, String newContent) {
-        System.out.println(ansi()
-                .fgBrightYellow()
-                .a("    [WARN] El archivo ya existe. Diferencias:")
-                .reset());
-
-        String[] existingLines = existing.split("\n");
-        String[] newLines = newContent.split("\n");
-
-        int maxLines = Math.max(existingLines.length, newLines.length);
-        int diffCount = 0;
-
-        for (int i = 0; i < Math.min(maxLines, 5); i++) {
-            String existLine = i < existingLines.length ? existingLines[i] : "";
-            String newLine = i < newLines.length ? newLines[i] : "";
-
-            if (!existLine.equals(newLine)) {
-                diffCount++;
-                System.out.println(ansi().fgRed().a("    - " + truncate(existLine, 50)).reset());
-                System.out.println(ansi().fgGreen().a("    + " + truncate(newLine, 50)).reset());
-            }
-        }
+        printDiff(DiffPreview.compute(existing, newContent));
+    }
 
-        if (diffCount == 0) {
-            System.out.println(ansi().fgGreen().a("    (Sin diferencias)").reset());
-        } else if (maxLines > 5) {
-            System.out.println(ansi().fgBrightBlack().a("    ... (mas diferencias)").reset());
+    public static void printDiff(DiffPreview diff) {
+        println(paint("    [WARN] El archivo ya existe. Diferencias:", Style.BRIGHT_YELLOW));
+        for (String[] change : diff.getChangedLines()) {
+            println(paint("    - " + truncate(change[0], 50), Style.RED));
+            println(paint("    + " + truncate(change[1], 50), Style.GREEN));
+        }
+        if (!diff.hasDifferences()) {
+            println(paint("    (Sin diferencias)", Style.GREEN));
+        } else if (diff.isTruncated()) {
+            println(paint("    ... (mas diferencias)", Style.BRIGHT_BLACK));
         }
     }
 
@@ -222,15 +262,13 @@ public class ConsoleUtils {
     }
 
     public static void clearScreen() {
-        System.out.print(ansi().eraseScreen().cursor(1, 1));
+        // Sin colores no se borra la pantalla: el texto vacío no imprime nada
+        print(paint("", Style.CLEAR_SCREEN));
     }
 
     public static void pause() {
-        System.out.println();
-        System.out.print(ansi()
-                .fgBrightBlack()
-                .a("Presiona ENTER para continuar...")
-                .reset());
+        println();
+        print(paint("Presiona ENTER para continuar...", Style.BRIGHT_BLACK));
         try {
             System.in.read();
         } catch (Exception ignored) {}
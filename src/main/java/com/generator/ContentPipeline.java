@@ -0,0 +1,377 @@
+// src/main/java/com/generator/ContentPipeline.java
+
+package com.generator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Transformaciones que se aplican al contenido de un bloque antes de escribirlo.
+ *
+ * Las etapas no producen cadenas intermedias: cada una puede escribir una
+ * cabecera antes del contenido y recortar el final de cada línea, y el
+ * pipeline las aplica todas en una única pasada que escribe directamente en el
+ * destino (normalmente el Writer del archivo, es decir, el codificador UTF-8).
+ * Los saltos de línea se normalizan al separador configurado y, si se pide,
+ * se garantiza un salto final.
+ */
+public final class ContentPipeline {
+
+    private static volatile ContentPipeline defaultPipeline = builder().build();
+
+    private final List<Stage> stages;
+    private final String lineSeparator;
+    private final boolean finalNewline;
+
+    private ContentPipeline(Builder builder, List<Stage> stages) {
+        this.stages = List.copyOf(stages);
+        this.lineSeparator = builder.lineSeparator;
+        this.finalNewline = builder.finalNewline;
+    }
+
+    /**
+     * Etapa del pipeline. Ambos métodos trabajan sobre rangos del texto original.
+     */
+    public interface Stage {
+
+        default boolean appliesTo(CodeBlock block) {
+            return true;
+        }
+
+        /**
+         * Escribe lo que deba ir antes del contenido.
+         *
+         * @param first índice del primer carácter no blanco del contenido
+         */
+        default void header(CodeBlock block, String content, int first,
+                            String newline, Appendable out) throws IOException {
+        }
+
+        /**
+         * Fin de las líneas iniciales que deben quedar por delante de todas las
+         * cabeceras (un shebang, directivas del parser), o 0 si no hay.
+         *
+         * @param first índice del primer carácter no blanco del contenido
+         */
+        default int preambleEnd(CodeBlock block, String content, int first) {
+            return 0;
+        }
+
+        /**
+         * Devuelve el nuevo fin de la línea [start, end) (sin el salto).
+         */
+        default int lineEnd(String content, int start, int end) {
+            return end;
+        }
+    }
+
+    /**
+     * Pipeline usado por los generadores que no reciben uno explícito.
+     */
+    public static ContentPipeline getDefault() {
+        return defaultPipeline;
+    }
+
+    public static void setDefault(ContentPipeline pipeline) {
+        defaultPipeline = pipeline;
+    }
+
+    /**
+     * Escribe el contenido transformado del bloque en una sola pasada.
+     */
+    public void writeTo(CodeBlock block, Appendable out) throws IOException {
+        String content = block.getContent();
+
+        // Sin etapas (lo habitual) no se reserva nada por archivo
+        List<Stage> active = stages;
+        if (!stages.isEmpty()) {
+            active = new ArrayList<>(stages.size());
+            for (Stage stage : stages) {
+                if (stage.appliesTo(block)) active.add(stage);
+            }
+        }
+
+        int first = firstNonWhitespace(content, 0);
+        int preamble = 0;
+        for (Stage stage : active) {
+            preamble = Math.max(preamble, stage.preambleEnd(block, content, first));
+        }
+        if (preamble > 0) {
+            writeLines(content, 0, preamble, active, out);
+            if (!finalNewline && !endsWithNewline(content, preamble)) {
+                out.append(lineSeparator);
+            }
+            first = firstNonWhitespace(content, preamble);
+        }
+
+        for (Stage stage : active) {
+            stage.header(block, content, first, lineSeparator, out);
+        }
+        writeLines(content, preamble, content.length(), active, out);
+    }
+
+    // Escribe las líneas de [from, length) aplicando las etapas; from es inicio de línea
+    private void writeLines(String content, int from, int length, List<Stage> active,
+                            Appendable out) throws IOException {
+        int lineStart = from;
+        while (lineStart < length) {
+            int lineEnd = lineStart;
+            while (lineEnd < length && content.charAt(lineEnd) != '\n' && content.charAt(lineEnd) != '\r') {
+                lineEnd++;
+            }
+            // \n, \r\n o \r
+            int next = lineEnd;
+            if (next < length && content.charAt(next) == '\r') next++;
+            if (next < length && content.charAt(next) == '\n') next++;
+
+            int end = lineEnd;
+            for (Stage stage : active) {
+                end = stage.lineEnd(content, lineStart, end);
+            }
+            out.append(content, lineStart, end);
+            if (next > lineEnd || finalNewline) {
+                out.append(lineSeparator);
+            }
+            lineStart = next;
+        }
+    }
+
+    private static int firstNonWhitespace(String content, int from) {
+        int first = from;
+        while (first < content.length() && Character.isWhitespace(content.charAt(first))) first++;
+        return first;
+    }
+
+    private static boolean endsWithNewline(String content, int end) {
+        return end > 0 && (content.charAt(end - 1) == '\n' || content.charAt(end - 1) == '\r');
+    }
+
+    /**
+     * Inicio de la línea siguiente a la que contiene {@code index}.
+     */
+    static int nextLine(String content, int index) {
+        int newline = content.indexOf('\n', index);
+        return newline < 0 ? content.length() : newline + 1;
+    }
+
+    /**
+     * Contenido transformado como cadena, para comparar o compilar en memoria.
+     */
+    public String render(CodeBlock block) {
+        StringBuilder sb = new StringBuilder(block.getContentLength() + 64);
+        try {
+            writeTo(block, sb);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private final List<Stage> stages = new ArrayList<>();
+        private String lineSeparator = "\n";
+        private boolean finalNewline = true;
+        private boolean stripTrailingWhitespace = true;
+        private String licenseText;
+
+        public Builder lineSeparator(String lineSeparator) {
+            this.lineSeparator = lineSeparator;
+            return this;
+        }
+
+        public Builder finalNewline(boolean finalNewline) {
+            this.finalNewline = finalNewline;
+            return this;
+        }
+
+        public Builder stripTrailingWhitespace(boolean stripTrailingWhitespace) {
+            this.stripTrailingWhitespace = stripTrailingWhitespace;
+            return this;
+        }
+
+        public Builder licenseHeader(String licenseText) {
+            this.licenseText = licenseText;
+            return this;
+        }
+
+        public Builder licenseHeader(Path licenseFile) throws IOException {
+            return licenseHeader(Files.readString(licenseFile).strip());
+        }
+
+        /**
+         * Etapa adicional, aplicada después de las estándar.
+         */
+        public Builder stage(Stage stage) {
+            this.stages.add(stage);
+            return this;
+        }
+
+        public ContentPipeline build() {
+            List<Stage> ordered = new ArrayList<>();
+            // El prólogo XML debe ser lo primero del archivo y el package va tras la licencia
+            ordered.add(new XmlPrologStage());
+            if (licenseText != null && !licenseText.isEmpty()) {
+                ordered.add(new LicenseHeaderStage(licenseText));
+            }
+            ordered.add(new PackageStatementStage());
+            if (stripTrailingWhitespace) {
+                ordered.add(new TrailingWhitespaceStage());
+            }
+            ordered.addAll(stages);
+            return new ContentPipeline(this, ordered);
+        }
+    }
+
+    // ==================== ETAPAS ESTÁNDAR ====================
+
+    /**
+     * Añade el package deducido de la ruta si el archivo Java no lo declara.
+     */
+    static final class PackageStatementStage implements Stage {
+        @Override
+        public boolean appliesTo(CodeBlock block) {
+            return block.getFilePath() != null && block.getFilePath().endsWith(".java");
+        }
+
+        @Override
+        public void header(CodeBlock block, String content, int first,
+                           String newline, Appendable out) throws IOException {
+            if (content.startsWith("package ", first)) return;
+            String packageName = ProjectGenerator.extractPackageFromPath(block.getFilePath());
+            if (packageName != null && !packageName.isEmpty()) {
+                out.append("package ").append(packageName).append(';').append(newline).append(newline);
+            }
+        }
+    }
+
+    /**
+     * Añade la declaración XML a los archivos de Spring/Logback que no la tienen.
+     */
+    static final class XmlPrologStage implements Stage {
+        @Override
+        public boolean appliesTo(CodeBlock block) {
+            return block.getFilePath() != null && block.getFilePath().endsWith(".xml");
+        }
+
+        @Override
+        public void header(CodeBlock block, String content, int first,
+                           String newline, Appendable out) throws IOException {
+            if (needsProlog(content, first)) {
+                out.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>").append(newline);
+            }
+        }
+
+        static boolean needsProlog(String content, int first) {
+            return !content.startsWith("<?xml", first) && !content.startsWith("<project", first)
+                    && (content.contains("<beans") || content.contains("<configuration"));
+        }
+    }
+
+    /**
+     * Cabecera de licencia con la sintaxis de comentario del tipo de archivo.
+     * Lo que tiene que ser la primera línea (el shebang de un script, la
+     * declaración XML y las directivas {@code # syntax=} / {@code # escape=}
+     * de un Dockerfile) se mantiene por delante y la licencia va a continuación.
+     */
+    static final class LicenseHeaderStage implements Stage {
+        private static final Pattern DOCKER_DIRECTIVE = Pattern.compile("(?i)#\\s*(?:syntax|escape|check)\\s*=.*");
+
+        private final String[] lines;
+
+        LicenseHeaderStage(String licenseText) {
+            this.lines = licenseText.split("\\R", -1);
+        }
+
+        @Override
+        public boolean appliesTo(CodeBlock block) {
+            return block.getFilePath() != null && commentStyle(block.getFilePath()) != null;
+        }
+
+        @Override
+        public int preambleEnd(CodeBlock block, String content, int first) {
+            String path = block.getFilePath().toLowerCase();
+            int end = first;
+            if (content.startsWith("#!", first) || (path.endsWith(".xml") && content.startsWith("<?xml", first))) {
+                end = nextLine(content, first);
+            }
+            if (path.endsWith("dockerfile")) {
+                Matcher directive = DOCKER_DIRECTIVE.matcher(content);
+                while (end < content.length()) {
+                    int lineEnd = nextLine(content, end);
+                    int textEnd = lineEnd;
+                    while (textEnd > end && (content.charAt(textEnd - 1) == '\n' || content.charAt(textEnd - 1) == '\r')) {
+                        textEnd--;
+                    }
+                    if (!directive.region(end, textEnd).matches()) break;
+                    end = lineEnd;
+                }
+            }
+            return end == first ? 0 : end;
+        }
+
+        @Override
+        public void header(CodeBlock block, String content, int first,
+                           String newline, Appendable out) throws IOException {
+            String[] style = commentStyle(block.getFilePath());
+
+            if (style[0] != null) out.append(style[0]).append(newline);
+            for (String line : lines) {
+                String prefixed = line.isEmpty() ? style[1].stripTrailing() : style[1] + line;
+                out.append(prefixed).append(newline);
+            }
+            if (style[2] != null) out.append(style[2]).append(newline);
+            out.append(newline);
+        }
+
+        /**
+         * Apertura, prefijo de línea y cierre del comentario, o null si no se conoce.
+         */
+        private static String[] commentStyle(String filePath) {
+            String path = filePath.toLowerCase();
+            if (path.endsWith(".java") || path.endsWith(".kt") || path.endsWith(".groovy")
+                    || path.endsWith(".js") || path.endsWith(".ts") || path.endsWith(".gradle")) {
+                return new String[] {"/*", " * ", " */"};
+            }
+            if (path.endsWith(".xml") || path.endsWith(".html")) {
+                return new String[] {"<!--", "  ", "-->"};
+            }
+            if (path.endsWith(".properties") || path.endsWith(".yml") || path.endsWith(".yaml")
+                    || path.endsWith(".sh") || path.endsWith("dockerfile")) {
+                return new String[] {null, "# ", null};
+            }
+            if (path.endsWith(".sql")) {
+                return new String[] {null, "-- ", null};
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Elimina espacios y tabuladores al final de cada línea (salvo en Markdown,
+     * donde dos espacios finales son un salto de línea).
+     */
+    static final class TrailingWhitespaceStage implements Stage {
+        @Override
+        public boolean appliesTo(CodeBlock block) {
+            return block.getFilePath() == null || !block.getFilePath().endsWith(".md");
+        }
+
+        @Override
+        public int lineEnd(String content, int start, int end) {
+            while (end > start && (content.charAt(end - 1) == ' ' || content.charAt(end - 1) == '\t')) {
+                end--;
+            }
+            return end;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+// src/main/java/com/generator/DiffPreview.java
+
+package com.generator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Vista previa de las diferencias entre el archivo en disco y el bloque.
+ * Se calcula sin imprimir para poder prepararla en segundo plano.
+ */
+public class DiffPreview {
+
+    static final int MAX_COMPARED_LINES = 5;
+
+    private final List<String[]> changedLines;
+    private final boolean truncated;
+
+    private DiffPreview(List<String[]> changedLines, boolean truncated) {
+        this.changedLines = changedLines;
+        this.truncated = truncated;
+    }
+
+    public static DiffPreview compute(String existing, String newContent) {
+        String[] existingLines = existing.split("\n");
+        String[] newLines = newContent.split("\n");
+
+        int maxLines = Math.max(existingLines.length, newLines.length);
+        List<String[]> changed = new ArrayList<>();
+
+        for (int i = 0; i < Math.min(maxLines, MAX_COMPARED_LINES); i++) {
+            String existLine = i < existingLines.length ? existingLines[i] : "";
+            String newLine = i < newLines.length ? newLines[i] : "";
+
+            if (!existLine.equals(newLine)) {
+                changed.add(new String[]{existLine, newLine});
+            }
+        }
+
+        return new DiffPreview(Collections.unmodifiableList(changed), maxLines > MAX_COMPARED_LINES);
+    }
+
+    /**
+     * Pares {línea existente, línea nueva} que difieren.
+     */
+    public List<String[]> getChangedLines() { return changedLines; }
+    public boolean hasDifferences() { return !changedLines.isEmpty(); }
+    public boolean isTruncated() { return truncated; }
+}
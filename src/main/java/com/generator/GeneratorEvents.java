@@ -0,0 +1,134 @@
+// src/main/java/com/generator/GeneratorEvents.java
+
+package com.generator;
+
+import jdk.jfr.Category;
+import jdk.jfr.Configuration;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.List;
+
+/**
+ * Eventos JFR del generador, visibles en JDK Mission Control bajo la categoría
+ * "Markdown Project Generator".
+ *
+ * Sin una grabación activa cada evento cuesta una comprobación de un flag, y
+ * los campos caros de calcular solo se rellenan cuando el evento se va a guardar.
+ */
+final class GeneratorEvents {
+
+    private static final String CATEGORY = "Markdown Project Generator";
+
+    private GeneratorEvents() {
+    }
+
+    @Name("com.generator.Parse")
+    @Label("Parseo de guia")
+    @Category(CATEGORY)
+    @Description("Parseo completo de una guia (todos sus capitulos)")
+    static final class Parse extends Event {
+        @Label("Guia")
+        String guide;
+
+        @Label("Tamano")
+        @DataAmount
+        long bytes;
+
+        @Label("Segmentos")
+        int segments;
+
+        @Label("Bloques")
+        int blocks;
+    }
+
+    @Name("com.generator.PathInference")
+    @Label("Deduccion de ruta")
+    @Category(CATEGORY)
+    @Description("Busqueda de la ruta de un bloque y estrategia que la encontro")
+    static final class PathInference extends Event {
+        @Label("Estrategia")
+        String strategy;
+
+        @Label("Lenguaje")
+        String language;
+
+        @Label("Ruta")
+        String path;
+    }
+
+    @Name("com.generator.FileWrite")
+    @Label("Escritura de archivo")
+    @Category(CATEGORY)
+    @Description("Escritura (o descarte) de un archivo generado; la duracion es la latencia")
+    static final class FileWrite extends Event {
+        @Label("Ruta")
+        String path;
+
+        @Label("Tamano")
+        @DataAmount
+        long bytes;
+
+        @Label("Escrito")
+        boolean written;
+    }
+
+    @Name("com.generator.Readme")
+    @Label("Generacion de README")
+    @Category(CATEGORY)
+    static final class Readme extends Event {
+        @Label("Ruta")
+        String path;
+
+        @Label("Tamano")
+        @DataAmount
+        long bytes;
+
+        @Label("Segmentos")
+        int segments;
+    }
+
+    /**
+     * Registra un archivo que no se escribió (sin ruta o sin cambios).
+     */
+    static void fileSkipped(String path) {
+        FileWrite event = new FileWrite();
+        if (event.isEnabled()) {
+            event.path = path;
+            event.written = false;
+            event.commit();
+        }
+    }
+
+    /**
+     * Inicia una grabación con los eventos del generador (sin umbral) y la
+     * configuración "default" de la JVM; se vuelca al archivo al terminar el proceso.
+     */
+    static Recording startRecording(Path destination) throws IOException {
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration("default");
+        } catch (ParseException e) {
+            throw new IOException("Configuracion JFR no valida: " + e.getMessage(), e);
+        }
+
+        Recording recording = new Recording(configuration);
+        recording.setName("markdown-project-generator");
+        List<Class<? extends Event>> types = List.of(Parse.class, PathInference.class, FileWrite.class, Readme.class);
+        for (Class<? extends Event> type : types) {
+            recording.enable(type).withoutThreshold();
+        }
+        recording.setDestination(destination);
+        recording.setToDisk(true);
+        recording.setDumpOnExit(true);
+        recording.start();
+        return recording;
+    }
+}
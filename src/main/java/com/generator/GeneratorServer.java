@@ -0,0 +1,255 @@
+// src/main/java/com/generator/GeneratorServer.java
+
+package com.generator;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Servidor HTTP local que mantiene una JVM caliente para generar proyectos
+ * bajo demanda.
+ *
+ * <pre>
+ *   POST /generate?format=zip|json[&amp;readme=false]   (cuerpo: la guía Markdown)
+ *   GET  /health
+ * </pre>
+ *
+ * Cada petición usa su propio parser y generador; lo único compartido son los
+ * patrones precompilados, que son inmutables y seguros entre hilos. Solo se
+ * procesa el texto recibido: las directivas {@code include} no se resuelven.
+ */
+public class GeneratorServer {
+
+    private static final int MAX_GUIDE_BYTES = 64 * 1024 * 1024;
+
+    private final int port;
+    private final int threads;
+    private ConfigPathRules configRules = ConfigPathRules.defaults();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public GeneratorServer(int port, int threads) {
+        this.port = port;
+        this.threads = threads;
+    }
+
+    /**
+     * Reglas compartidas por todas las peticiones; son inmutables.
+     */
+    public void setConfigRules(ConfigPathRules configRules) {
+        this.configRules = configRules;
+    }
+
+    public void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        executor = Executors.newFixedThreadPool(threads);
+        server.setExecutor(executor);
+        server.createContext("/generate", this::handleGenerate);
+        server.createContext("/health", exchange -> sendText(exchange, 200, "ok"));
+        server.start();
+
+        ConsoleUtils.printSuccess("Servidor escuchando en http://"
+                + server.getAddress().getHostString() + ":" + server.getAddress().getPort());
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+        }
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    public int getPort() {
+        return server != null ? server.getAddress().getPort() : port;
+    }
+
+    private void handleGenerate(HttpExchange exchange) throws IOException {
+        try {
+            if (!"POST".equalsIgnoreCase(exchange.getRequestMethod())) {
+                sendText(exchange, 405, "Use POST con la guia Markdown en el cuerpo");
+                return;
+            }
+
+            Map<String, String> query = parseQuery(exchange.getRequestURI());
+            String format = query.getOrDefault("format", "zip");
+            boolean readme = !"false".equals(query.get("readme"));
+
+            byte[] guide = readBody(exchange.getRequestBody());
+            if (guide == null) {
+                sendText(exchange, 413, "Guia demasiado grande (max " + MAX_GUIDE_BYTES + " bytes)");
+                return;
+            }
+
+            switch (format) {
+                case "json":
+                    sendBlockListing(exchange, guide);
+                    break;
+                case "zip":
+                    sendZip(exchange, guide, readme);
+                    break;
+                default:
+                    sendText(exchange, 400, "Formato no soportado: " + format);
+            }
+        } catch (IOException | RuntimeException e) {
+            try {
+                sendText(exchange, 500, "Error: " + e.getMessage());
+            } catch (IOException ignored) {
+                // La respuesta ya había empezado; solo queda cerrar la conexión
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void sendBlockListing(HttpExchange exchange, byte[] guide) throws IOException {
+        MarkdownParser parser = new MarkdownParser(null);
+        parser.setConfigRules(configRules);
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(200, 0);
+
+        try (Writer writer = new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8)) {
+            BlockListing listing = new BlockListing(writer, BlockListing.Format.JSON, false);
+            listing.begin();
+            try {
+                parser.parse(GuideAssembler.fromText(new String(guide, StandardCharsets.UTF_8)), listing.sink());
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            listing.end(parser.getProblems());
+        }
+    }
+
+    private void sendZip(HttpExchange exchange, byte[] guide, boolean readme) throws IOException {
+        Path workDir = Files.createTempDirectory("mdgen-");
+        try {
+            // Solo el texto subido: las inclusiones nunca se resuelven en el servidor
+            String text = new String(guide, StandardCharsets.UTF_8);
+            Path projectDir = workDir.resolve("project");
+
+            MarkdownParser parser = new MarkdownParser(null);
+            parser.setConfigRules(configRules);
+            List<CodeBlock> blocks = parser.parse(GuideAssembler.fromText(text));
+
+            ProjectGenerator generator = new ProjectGenerator(projectDir, blocks);
+            generator.generateProjectStructure();
+            generator.generateAll();
+            if (readme) {
+                generator.generateReadme(Paths.get("guide.md"), List.of(text));
+            }
+
+            exchange.getResponseHeaders().set("Content-Type", "application/zip");
+            exchange.getResponseHeaders().set("Content-Disposition", "attachment; filename=\"project.zip\"");
+            exchange.getResponseHeaders().set("X-Generated-Blocks", String.valueOf(blocks.size()));
+            exchange.sendResponseHeaders(200, 0);
+
+            try (ZipOutputStream zip = new ZipOutputStream(exchange.getResponseBody())) {
+                zipDirectory(projectDir, zip);
+            }
+        } finally {
+            deleteRecursively(workDir);
+        }
+    }
+
+    private void zipDirectory(Path root, ZipOutputStream zip) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : (Iterable<Path>) paths.sorted()::iterator) {
+                if (path.equals(root)) continue;
+                String entryName = root.relativize(path).toString().replace('\\', '/');
+                if (Files.isDirectory(path)) {
+                    zip.putNextEntry(new ZipEntry(entryName + "/"));
+                } else {
+                    zip.putNextEntry(new ZipEntry(entryName));
+                    Files.copy(path, zip);
+                }
+                zip.closeEntry();
+            }
+        }
+    }
+
+    private void deleteRecursively(Path root) {
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException ignored) {
+                    // Se intenta borrar el resto
+                }
+            });
+        } catch (IOException ignored) {
+            // Directorio temporal ya eliminado
+        }
+    }
+
+    private byte[] readBody(InputStream in) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        byte[] chunk = new byte[8192];
+        int read;
+        while ((read = in.read(chunk)) != -1) {
+            if (buffer.size() + read > MAX_GUIDE_BYTES) {
+                return null;
+            }
+            buffer.write(chunk, 0, read);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Parámetros de la consulta con claves y valores decodificados
+     * ({@code %20} y {@code +} como espacio, UTF-8).
+     */
+    static Map<String, String> parseQuery(URI uri) {
+        Map<String, String> params = new HashMap<>();
+        String query = uri.getRawQuery();
+        if (query == null || query.isEmpty()) return params;
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(decode(pair.substring(0, eq)), decode(pair.substring(eq + 1)));
+            } else if (!pair.isEmpty()) {
+                params.put(decode(pair), "");
+            }
+        }
+        return params;
+    }
+
+    private static String decode(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+
+    private static void sendText(HttpExchange exchange, int status, String text) throws IOException {
+        byte[] body = text.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,392 @@
+// src/main/java/com/generator/GitExporter.java
+
+package com.generator;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Exporta la historia de la guía como un repositorio git (bare) con un commit por fase.
+ *
+ * Escribe directamente los objetos blob, tree y commit en un único packfile con
+ * su índice (formato v2), sin llamar al binario de git. Los árboles se
+ * recalculan solo en los directorios que cambian en cada fase; los subárboles
+ * sin cambios reutilizan el objeto de la fase anterior. Cada fase queda además
+ * marcada con una etiqueta phase-NN.
+ */
+public class GitExporter {
+
+    private static final int OBJ_COMMIT = 1;
+    private static final int OBJ_TREE = 2;
+    private static final int OBJ_BLOB = 3;
+
+    private static final String BRANCH = "main";
+    private static final String AUTHOR = "Markdown Project Generator <generator@localhost>";
+
+    private final Path repositoryDirectory;
+    private final List<CodeBlock> blocks;
+    private ContentPipeline contentPipeline = ContentPipeline.getDefault();
+
+    private int commitCount = 0;
+    private int objectCount = 0;
+    private long packSize = 0;
+
+    public GitExporter(Path repositoryDirectory, List<CodeBlock> blocks) {
+        this.repositoryDirectory = repositoryDirectory;
+        this.blocks = blocks;
+    }
+
+    public void setContentPipeline(ContentPipeline contentPipeline) {
+        this.contentPipeline = contentPipeline;
+    }
+
+    /**
+     * Directorio del árbol de trabajo con el SHA-1 de su último tree.
+     */
+    private static final class TreeNode {
+        final Map<String, TreeNode> directories = new TreeMap<>();
+        final Map<String, FileEntry> files = new TreeMap<>();
+        byte[] id;
+
+        TreeNode directory(String name) {
+            return directories.computeIfAbsent(name, k -> new TreeNode());
+        }
+    }
+
+    private static final class FileEntry {
+        final byte[] id;
+        final boolean executable;
+
+        FileEntry(byte[] id, boolean executable) {
+            this.id = id;
+            this.executable = executable;
+        }
+    }
+
+    /**
+     * Escribe el repositorio. Devuelve el SHA-1 del último commit.
+     *
+     * @param readmeSegments contenido del README (se incluye en el primer commit); null lo omite
+     */
+    public String export(Path sourceMarkdownFile, List<String> readmeSegments) throws IOException {
+        Path gitDir = repositoryDirectory;
+        Path packDir = gitDir.resolve("objects/pack");
+        Files.createDirectories(packDir);
+        Files.createDirectories(gitDir.resolve("objects/info"));
+        Files.createDirectories(gitDir.resolve("refs/heads"));
+        Files.createDirectories(gitDir.resolve("refs/tags"));
+
+        // Fecha fija (la de la guía): la misma guía produce los mismos commits
+        long timestamp = Files.getLastModifiedTime(sourceMarkdownFile).toMillis() / 1000;
+
+        Path tempPack = packDir.resolve("tmp-export.pack");
+        PackWriter pack = new PackWriter(tempPack);
+        Map<String, String> tags = new LinkedHashMap<>();
+        String head;
+        try {
+            TreeNode root = new TreeNode();
+            byte[] parent = null;
+
+            if (readmeSegments != null) {
+                StringWriter readme = new StringWriter();
+                ProjectGenerator.writeReadme(sourceMarkdownFile, readmeSegments, readme);
+                byte[] id = pack.add(OBJ_BLOB, readme.toString().getBytes(StandardCharsets.UTF_8));
+                root.files.put("README.md", new FileEntry(id, false));
+            }
+
+            List<PhaseSnapshotWriter.Phase> phases = PhaseSnapshotWriter.splitPhases(blocks);
+            for (int p = 0; p < phases.size(); p++) {
+                PhaseSnapshotWriter.Phase phase = phases.get(p);
+
+                // Solo la última versión de cada ruta dentro de la fase llega al commit
+                Map<String, CodeBlock> latestByPath = new LinkedHashMap<>();
+                for (CodeBlock block : phase.blocks) {
+                    if (block.getFilePath() == null || block.getFilePath().isEmpty()) continue;
+                    latestByPath.put(block.getFilePath(), block);
+                }
+                for (CodeBlock block : latestByPath.values()) {
+                    byte[] content = contentPipeline.render(block).getBytes(StandardCharsets.UTF_8);
+                    put(root, block.getFilePath(), pack.add(OBJ_BLOB, content), isExecutable(block.getFilePath()));
+                }
+
+                byte[] tree = writeTree(root, pack);
+                StringBuilder commit = new StringBuilder();
+                commit.append("tree ").append(hex(tree)).append('\n');
+                if (parent != null) {
+                    commit.append("parent ").append(hex(parent)).append('\n');
+                }
+                String when = timestamp + " +0000";
+                commit.append("author ").append(AUTHOR).append(' ').append(when).append('\n');
+                commit.append("committer ").append(AUTHOR).append(' ').append(when).append('\n');
+                commit.append('\n').append(phase.name).append('\n');
+
+                parent = pack.add(OBJ_COMMIT, commit.toString().getBytes(StandardCharsets.UTF_8));
+                tags.put(String.format("phase-%02d", phase.ordinal), hex(parent));
+                commitCount++;
+            }
+            head = parent != null ? hex(parent) : null;
+            pack.finish(packDir);
+        } finally {
+            Files.deleteIfExists(tempPack);
+        }
+
+        objectCount = pack.objectCount();
+        packSize = pack.size;
+
+        if (head != null) {
+            Files.writeString(gitDir.resolve("refs/heads/" + BRANCH), head + "\n");
+            for (Map.Entry<String, String> tag : tags.entrySet()) {
+                Files.writeString(gitDir.resolve("refs/tags/" + tag.getKey()), tag.getValue() + "\n");
+            }
+        }
+        Files.writeString(gitDir.resolve("HEAD"), "ref: refs/heads/" + BRANCH + "\n");
+        Files.writeString(gitDir.resolve("config"),
+                "[core]\n\trepositoryformatversion = 0\n\tfilemode = true\n\tbare = true\n");
+        Files.writeString(gitDir.resolve("description"), "Historia por fases de " + sourceMarkdownFile.getFileName() + "\n");
+        return head;
+    }
+
+    /**
+     * Sustituye el archivo e invalida los árboles de los directorios que lo contienen.
+     */
+    private static void put(TreeNode root, String filePath, byte[] blobId, boolean executable) {
+        String[] parts = filePath.split("/");
+        TreeNode node = root;
+        node.id = null;
+        for (int i = 0; i < parts.length - 1; i++) {
+            if (parts[i].isEmpty() || parts[i].equals(".")) continue;
+            node = node.directory(parts[i]);
+            node.id = null;
+        }
+        node.files.put(parts[parts.length - 1], new FileEntry(blobId, executable));
+    }
+
+    /**
+     * Escribe los trees invalidados; los demás conservan su identificador.
+     */
+    private static byte[] writeTree(TreeNode node, PackWriter pack) throws IOException {
+        if (node.id != null) {
+            return node.id;
+        }
+
+        // Orden de git: por bytes del nombre, con '/' implícito al final de los directorios
+        List<Object[]> entries = new ArrayList<>();
+        for (Map.Entry<String, FileEntry> file : node.files.entrySet()) {
+            String mode = file.getValue().executable ? "100755" : "100644";
+            entries.add(new Object[] {file.getKey().getBytes(StandardCharsets.UTF_8), mode, file.getValue().id,
+                    file.getKey().getBytes(StandardCharsets.UTF_8)});
+        }
+        for (Map.Entry<String, TreeNode> directory : node.directories.entrySet()) {
+            byte[] id = writeTree(directory.getValue(), pack);
+            entries.add(new Object[] {(directory.getKey() + "/").getBytes(StandardCharsets.UTF_8), "40000", id,
+                    directory.getKey().getBytes(StandardCharsets.UTF_8)});
+        }
+        entries.sort(Comparator.comparing(entry -> (byte[]) entry[0], Arrays::compareUnsigned));
+
+        ByteArrayOutputStream tree = new ByteArrayOutputStream();
+        for (Object[] entry : entries) {
+            tree.write(((String) entry[1]).getBytes(StandardCharsets.US_ASCII));
+            tree.write(' ');
+            tree.write((byte[]) entry[3]);
+            tree.write(0);
+            tree.write((byte[]) entry[2]);
+        }
+        node.id = pack.add(OBJ_TREE, tree.toByteArray());
+        return node.id;
+    }
+
+    private static boolean isExecutable(String filePath) {
+        return filePath.endsWith(".sh") || filePath.endsWith("mvnw") || filePath.endsWith("gradlew");
+    }
+
+    private static String hex(byte[] id) {
+        StringBuilder sb = new StringBuilder(id.length * 2);
+        for (byte b : id) {
+            sb.append(String.format("%02x", b & 0xff));
+        }
+        return sb.toString();
+    }
+
+    private static MessageDigest sha1() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 no disponible", e);
+        }
+    }
+
+    /**
+     * Packfile v2 escrito en streaming, con los datos necesarios para su índice.
+     */
+    private static final class PackWriter {
+        private final Path file;
+        private final DataOutputStream out;
+        private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        private final byte[] buffer = new byte[8192];
+        private final Set<String> written = new HashSet<>();
+        private final List<byte[]> ids = new ArrayList<>();
+        private final List<Long> offsets = new ArrayList<>();
+        private final List<Long> crcs = new ArrayList<>();
+        private long size = 0;
+
+        PackWriter(Path file) throws IOException {
+            this.file = file;
+            this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+            out.write(new byte[] {'P', 'A', 'C', 'K'});
+            out.writeInt(2);
+            out.writeInt(0); // número de objetos, se corrige al terminar
+            size = 12;
+        }
+
+        /**
+         * Añade el objeto si no existe ya. Devuelve su SHA-1.
+         */
+        byte[] add(int type, byte[] data) throws IOException {
+            MessageDigest digest = sha1();
+            digest.update((typeName(type) + " " + data.length + "\0").getBytes(StandardCharsets.US_ASCII));
+            byte[] id = digest.digest(data);
+            if (!written.add(hex(id))) {
+                return id;
+            }
+
+            CRC32 crc = new CRC32();
+            long offset = size;
+
+            // Cabecera: tipo y tamaño en varint (4 bits en el primer byte)
+            long length = data.length;
+            int first = (type << 4) | (int) (length & 0x0F);
+            length >>>= 4;
+            while (true) {
+                int b = length != 0 ? first | 0x80 : first;
+                out.write(b);
+                crc.update(b);
+                size++;
+                if (length == 0) break;
+                first = (int) (length & 0x7F);
+                length >>>= 7;
+            }
+
+            deflater.reset();
+            deflater.setInput(data);
+            deflater.finish();
+            while (!deflater.finished()) {
+                int n = deflater.deflate(buffer);
+                out.write(buffer, 0, n);
+                crc.update(buffer, 0, n);
+                size += n;
+            }
+
+            ids.add(id);
+            offsets.add(offset);
+            crcs.add(crc.getValue());
+            return id;
+        }
+
+        int objectCount() {
+            return ids.size();
+        }
+
+        /**
+         * Corrige la cabecera, añade el checksum y escribe pack-&lt;sha&gt;.pack/.idx.
+         */
+        void finish(Path packDir) throws IOException {
+            out.close();
+            deflater.end();
+
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.allocate(4).putInt(0, ids.size()), 8);
+            }
+
+            MessageDigest digest = sha1();
+            try (InputStream in = Files.newInputStream(file)) {
+                int n;
+                while ((n = in.read(buffer)) > 0) {
+                    digest.update(buffer, 0, n);
+                }
+            }
+            byte[] packChecksum = digest.digest();
+            try (OutputStream append = Files.newOutputStream(file, StandardOpenOption.APPEND)) {
+                append.write(packChecksum);
+            }
+            size += packChecksum.length;
+
+            String name = "pack-" + hex(packChecksum);
+            writeIndex(packDir.resolve(name + ".idx"), packChecksum);
+            Files.move(file, packDir.resolve(name + ".pack"), StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        private void writeIndex(Path indexFile, byte[] packChecksum) throws IOException {
+            Integer[] order = new Integer[ids.size()];
+            for (int i = 0; i < order.length; i++) order[i] = i;
+            Arrays.sort(order, (a, b) -> Arrays.compareUnsigned(ids.get(a), ids.get(b)));
+
+            MessageDigest digest = sha1();
+            try (DataOutputStream index = new DataOutputStream(new BufferedOutputStream(
+                    new DigestOutputStream(Files.newOutputStream(indexFile), digest)))) {
+                index.write(new byte[] {(byte) 0xff, 't', 'O', 'c'});
+                index.writeInt(2);
+
+                int[] fanout = new int[256];
+                for (byte[] id : ids) fanout[id[0] & 0xff]++;
+                int total = 0;
+                for (int i = 0; i < 256; i++) {
+                    total += fanout[i];
+                    index.writeInt(total);
+                }
+                for (int i : order) index.write(ids.get(i));
+                for (int i : order) index.writeInt((int) (long) crcs.get(i));
+                for (int i : order) {
+                    long offset = offsets.get(i);
+                    if (offset >= 0x80000000L) {
+                        throw new IOException("Packfile demasiado grande para el indice (> 2 GB)");
+                    }
+                    index.writeInt((int) offset);
+                }
+                index.write(packChecksum);
+                index.flush();
+                // El índice termina con su propio checksum
+                byte[] indexChecksum = digest.digest();
+                index.write(indexChecksum);
+            }
+        }
+
+        private static String typeName(int type) {
+            switch (type) {
+                case OBJ_COMMIT: return "commit";
+                case OBJ_TREE: return "tree";
+                case OBJ_BLOB: return "blob";
+                default: throw new IllegalArgumentException("Tipo de objeto: " + type);
+            }
+        }
+    }
+
+    public int getCommitCount() { return commitCount; }
+    public int getObjectCount() { return objectCount; }
+    public long getPackSize() { return packSize; }
+}
@@ -0,0 +1,145 @@
+// src/main/java/com/generator/GuideAssembler.java
+
+package com.generator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Ensambla guías repartidas en varios archivos.
+ *
+ * Una línea {@code <!-- include: capitulos/01-intro.md -->} fuera de un bloque
+ * de código se sustituye por el contenido del archivo indicado (relativo al que
+ * lo incluye). Un archivo con solo directivas actúa como manifiesto de capítulos.
+ * El resultado es la lista de segmentos de texto en orden de documento.
+ */
+public final class GuideAssembler {
+
+    private static final String DIRECTIVE_START = "<!-- include:";
+    private static final String DIRECTIVE_END = "-->";
+
+    private GuideAssembler() {
+    }
+
+    /**
+     * Fragmento contiguo de la guía, con el archivo del que procede y la línea
+     * (desde 1) de ese archivo en la que empieza.
+     */
+    public static final class Segment {
+        private final Path source;
+        private final String content;
+        private final int firstLine;
+
+        Segment(Path source, String content, int firstLine) {
+            this.source = source;
+            this.content = content;
+            this.firstLine = firstLine;
+        }
+
+        public Path getSource() { return source; }
+        public String getContent() { return content; }
+        public int getFirstLine() { return firstLine; }
+    }
+
+    /**
+     * Guía recibida como texto (sin archivo ni inclusiones), en un único segmento.
+     */
+    public static List<Segment> fromText(String content) {
+        return List.of(new Segment(null, content, 1));
+    }
+
+    public static List<Segment> assemble(Path guide) throws IOException {
+        List<Segment> segments = new ArrayList<>();
+        expand(guide.toAbsolutePath().normalize(), new ArrayDeque<>(), segments);
+        if (segments.isEmpty()) {
+            segments.add(new Segment(guide, "", 1));
+        }
+        return segments;
+    }
+
+    /**
+     * Archivos que componen la guía (la principal y todos los incluidos).
+     */
+    public static Set<Path> sourceFiles(List<Segment> segments) {
+        Set<Path> files = new LinkedHashSet<>();
+        for (Segment segment : segments) {
+            files.add(segment.getSource());
+        }
+        return files;
+    }
+
+    private static void expand(Path file, Deque<Path> includeStack, List<Segment> segments) throws IOException {
+        if (includeStack.contains(file)) {
+            throw new IOException("Inclusión circular: " + file);
+        }
+        if (!Files.isRegularFile(file)) {
+            throw new IOException("Archivo incluido no encontrado: " + file);
+        }
+
+        String content = Files.readString(file);
+        if (!content.contains(DIRECTIVE_START)) {
+            segments.add(new Segment(file, content, 1));
+            return;
+        }
+
+        includeStack.push(file);
+
+        int segmentStart = 0;
+        int segmentFirstLine = 1;
+        int lineStart = 0;
+        int lineNumber = 1;
+        boolean insideFence = false;
+        char fenceChar = 0;
+        int fenceLength = 0;
+
+        while (lineStart < content.length()) {
+            int lineEnd = MarkdownSyntax.lineEnd(content, lineStart);
+            int textEnd = MarkdownSyntax.textEnd(content, lineStart, lineEnd);
+            int indent = MarkdownSyntax.indentOf(content, lineStart, textEnd);
+            int first = lineStart + indent;
+
+            if (insideFence) {
+                if (MarkdownSyntax.isClosingFence(content, first, textEnd, indent, fenceChar, fenceLength)) {
+                    insideFence = false;
+                }
+            } else {
+                int run = MarkdownSyntax.openingFenceLength(content, first, textEnd, indent);
+                if (run > 0) {
+                    insideFence = true;
+                    fenceChar = content.charAt(first);
+                    fenceLength = run;
+                } else if (content.startsWith(DIRECTIVE_START, first)) {
+                    String rest = content.substring(first + DIRECTIVE_START.length(), textEnd).trim();
+                    if (rest.endsWith(DIRECTIVE_END)) {
+                        String target = rest.substring(0, rest.length() - DIRECTIVE_END.length()).trim();
+
+                        if (lineStart > segmentStart) {
+                            segments.add(new Segment(file, content.substring(segmentStart, lineStart),
+                                    segmentFirstLine));
+                        }
+                        Path included = file.resolveSibling(target).normalize();
+                        expand(included, includeStack, segments);
+                        segmentStart = Math.min(lineEnd + 1, content.length());
+                        segmentFirstLine = lineNumber + 1;
+                    }
+                }
+            }
+
+            lineStart = lineEnd + 1;
+            lineNumber++;
+        }
+
+        if (segmentStart < content.length()) {
+            segments.add(new Segment(file, content.substring(segmentStart), segmentFirstLine));
+        }
+
+        includeStack.pop();
+    }
+}
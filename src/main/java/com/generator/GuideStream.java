@@ -0,0 +1,183 @@
+// src/main/java/com/generator/GuideStream.java
+
+package com.generator;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Predicate;
+
+/**
+ * Lectura de una guía en trozos de tamaño acotado, para parsearla sin tenerla
+ * entera en memoria.
+ *
+ * Equivale a {@link GuideAssembler#assemble} (mismas directivas de inclusión
+ * y mismos errores) pero entrega segmentos de unos {@code chunkChars}
+ * caracteres. Solo se corta fuera de un bloque de código y cuando las últimas
+ * líneas no contienen vallas; esas líneas se repiten al principio del trozo
+ * siguiente para que el primer bloque conserve su contexto previo. La lectura
+ * termina antes si el destino devuelve false.
+ */
+final class GuideStream {
+
+    static final int DEFAULT_CHUNK_CHARS = 1 << 20;
+
+    // Líneas que se arrastran al trozo siguiente (el contexto previo de un bloque)
+    private static final int CARRIED_LINES = 5;
+    private static final String DIRECTIVE_START = "<!-- include:";
+    private static final String DIRECTIVE_END = "-->";
+
+    private final int chunkChars;
+    private final Predicate<GuideAssembler.Segment> sink;
+    private boolean stopped = false;
+
+    private GuideStream(int chunkChars, Predicate<GuideAssembler.Segment> sink) {
+        this.chunkChars = chunkChars;
+        this.sink = sink;
+    }
+
+    static void read(Path guide, int chunkChars, Predicate<GuideAssembler.Segment> sink) throws IOException {
+        new GuideStream(chunkChars, sink).expand(guide.toAbsolutePath().normalize(), new ArrayDeque<>());
+    }
+
+    private void expand(Path file, Deque<Path> includeStack) throws IOException {
+        if (includeStack.contains(file)) {
+            throw new IOException("Inclusión circular: " + file);
+        }
+        if (!Files.isRegularFile(file)) {
+            throw new IOException("Archivo incluido no encontrado: " + file);
+        }
+        includeStack.push(file);
+
+        try (Reader reader = Files.newBufferedReader(file)) {
+            LineReader lines = new LineReader(reader);
+            StringBuilder chunk = new StringBuilder();
+            int chunkFirstLine = 1;
+            int lineNumber = 0;
+
+            // Últimas líneas del trozo y cuántas de ellas son vallas
+            Deque<String> recent = new ArrayDeque<>();
+            Deque<Boolean> recentFences = new ArrayDeque<>();
+            int fencesInRecent = 0;
+
+            boolean insideFence = false;
+            char fenceChar = 0;
+            int fenceLength = 0;
+
+            String line;
+            while (!stopped && (line = lines.next()) != null) {
+                lineNumber++;
+                int textEnd = MarkdownSyntax.textEnd(line, 0, line.length());
+                int indent = MarkdownSyntax.indentOf(line, 0, textEnd);
+                boolean outsideBefore = !insideFence;
+                boolean fenceLine = false;
+
+                if (insideFence) {
+                    if (MarkdownSyntax.isClosingFence(line, indent, textEnd, indent, fenceChar, fenceLength)) {
+                        insideFence = false;
+                        fenceLine = true;
+                    }
+                } else {
+                    int run = MarkdownSyntax.openingFenceLength(line, indent, textEnd, indent);
+                    if (run > 0) {
+                        insideFence = true;
+                        fenceChar = line.charAt(indent);
+                        fenceLength = run;
+                        fenceLine = true;
+                    } else if (line.startsWith(DIRECTIVE_START, indent)) {
+                        String rest = line.substring(indent + DIRECTIVE_START.length(), textEnd).trim();
+                        if (rest.endsWith(DIRECTIVE_END)) {
+                            String target = rest.substring(0, rest.length() - DIRECTIVE_END.length()).trim();
+                            emit(file, chunk, chunkFirstLine);
+                            expand(file.resolveSibling(target).normalize(), includeStack);
+                            chunk.setLength(0);
+                            chunkFirstLine = lineNumber + 1;
+                            recent.clear();
+                            recentFences.clear();
+                            fencesInRecent = 0;
+                            continue;
+                        }
+                    }
+                }
+
+                // Cortar antes de esta línea si el trozo ya es grande y es seguro
+                if (outsideBefore && chunk.length() >= chunkChars && fencesInRecent == 0) {
+                    if (!emit(file, chunk, chunkFirstLine)) break;
+                    chunk.setLength(0);
+                    chunkFirstLine = lineNumber - recent.size();
+                    for (String carried : recent) {
+                        chunk.append(carried).append('\n');
+                    }
+                }
+
+                chunk.append(line);
+                if (lines.hadNewline()) chunk.append('\n');
+
+                recent.addLast(line);
+                recentFences.addLast(fenceLine);
+                if (fenceLine) fencesInRecent++;
+                if (recent.size() > CARRIED_LINES) {
+                    recent.removeFirst();
+                    if (recentFences.removeFirst()) fencesInRecent--;
+                }
+            }
+
+            emit(file, chunk, chunkFirstLine);
+        }
+
+        includeStack.pop();
+    }
+
+    private boolean emit(Path file, StringBuilder chunk, int firstLine) {
+        if (!stopped && chunk.length() > 0) {
+            stopped = !sink.test(new GuideAssembler.Segment(file, chunk.toString(), firstLine));
+        }
+        return !stopped;
+    }
+
+    /**
+     * Lee líneas separadas solo por '\n' (como el parser), conservando un '\r' final.
+     */
+    private static final class LineReader {
+        private final Reader reader;
+        private final char[] buffer = new char[8192];
+        private final StringBuilder line = new StringBuilder();
+        private int position = 0;
+        private int limit = 0;
+        private boolean newline;
+
+        LineReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        String next() throws IOException {
+            line.setLength(0);
+            newline = false;
+            while (true) {
+                if (position == limit) {
+                    limit = reader.read(buffer);
+                    position = 0;
+                    if (limit <= 0) {
+                        limit = 0;
+                        return line.length() > 0 ? line.toString() : null;
+                    }
+                }
+                int start = position;
+                while (position < limit && buffer[position] != '\n') position++;
+                line.append(buffer, start, position - start);
+                if (position < limit) {
+                    position++;
+                    newline = true;
+                    return line.toString();
+                }
+            }
+        }
+
+        boolean hadNewline() {
+            return newline;
+        }
+    }
+}
@@ -13,27 +13,86 @@ public class InteractiveMode {
 
     private final List<CodeBlock> blocks;
     private final ProjectGenerator generator;
+    private final BlockPrefetcher prefetcher;
     private final Path markdownFile;
     private final Scanner scanner;
+    private final String guideHash;
     private int currentIndex = 0;
-    private final Set<Integer> generatedBlocks = new HashSet<>();
+    private final BitSet generatedBlocks = new BitSet();
     private boolean readmeGenerated = false;
+    private boolean sessionDirty = false;
 
     public InteractiveMode(List<CodeBlock> blocks, Path outputDirectory, Path markdownFile) {
+        this(blocks, outputDirectory, markdownFile, null);
+    }
+
+    /**
+     * @param guideHash hash de la guía para persistir la sesión; null la desactiva
+     */
+    public InteractiveMode(List<CodeBlock> blocks, Path outputDirectory, Path markdownFile,
+                           String guideHash) {
         this.blocks = blocks;
         this.generator = new ProjectGenerator(outputDirectory, blocks);
+        this.prefetcher = new BlockPrefetcher(blocks, generator);
         this.markdownFile = markdownFile;
+        this.guideHash = guideHash;
         this.scanner = new Scanner(System.in);
     }
 
+    /**
+     * Usa este contenido para el README en lugar de releer la guía.
+     */
+    public void setReadmeSegments(List<String> readmeSegments) {
+        generator.setReadmeSegments(readmeSegments);
+    }
+
+    /**
+     * Restaura el progreso de una sesión anterior.
+     */
+    public void restore(SessionSnapshot snapshot) {
+        generatedBlocks.clear();
+        generatedBlocks.or(snapshot.getGeneratedBlocks());
+        currentIndex = snapshot.getCurrentIndex();
+        readmeGenerated = snapshot.isReadmeGenerated();
+    }
+
     public void start() {
         ConsoleUtils.printHeader("GENERADOR DE PROYECTO - MODO INTERACTIVO");
 
         showStats();
+        loadOutputIndex();
+
+        Thread saveOnExit = new Thread(this::saveSession, "session-save");
+        if (guideHash != null) {
+            Runtime.getRuntime().addShutdownHook(saveOnExit);
+        }
+
+        if (!blocks.isEmpty()) {
+            prefetcher.prefetchAround(currentIndex);
+        }
+
+        try {
+            runMenuLoop();
+        } finally {
+            prefetcher.shutdown();
+            saveSession();
+            if (guideHash != null) {
+                try {
+                    Runtime.getRuntime().removeShutdownHook(saveOnExit);
+                } catch (IllegalStateException e) {
+                    // La JVM ya se está cerrando; el hook guardará la sesión
+                }
+            }
+        }
+    }
 
+    private void runMenuLoop() {
         while (true) {
             showMainMenu();
             String input = readInput();
+            int indexBefore = currentIndex;
+            int generatedBefore = generatedBlocks.cardinality();
+            boolean readmeBefore = readmeGenerated;
 
             switch (input.toLowerCase()) {
                 case "1":
@@ -85,6 +144,10 @@ public class InteractiveMode {
                 case "readme":
                     generateReadme();
                     break;
+                case "11":
+                case "refresh":
+                    refreshOutputIndex();
+                    break;
                 case "0":
                 case "q":
                 case "quit":
@@ -98,6 +161,59 @@ public class InteractiveMode {
                 default:
                     ConsoleUtils.printWarning("Opción no válida. Escribe 'h' para ayuda.");
             }
+
+            // La navegación se guarda al salir; lo generado se guarda de inmediato
+            if (indexBefore != currentIndex) {
+                sessionDirty = true;
+            }
+            if (generatedBefore != generatedBlocks.cardinality() || readmeBefore != readmeGenerated) {
+                sessionDirty = true;
+                saveSession();
+            }
+        }
+    }
+
+    /**
+     * Persiste la sesión del directorio de salida si hubo cambios.
+     */
+    private synchronized void saveSession() {
+        if (guideHash == null || !sessionDirty) {
+            return;
+        }
+        try {
+            new SessionSnapshot(guideHash, blocks, (BitSet) generatedBlocks.clone(),
+                    currentIndex, readmeGenerated).save(generator.getOutputDirectory());
+            sessionDirty = false;
+        } catch (IOException e) {
+            ConsoleUtils.printWarning("No se pudo guardar la sesión: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Indexa una vez el directorio de salida; a partir de aquí las comprobaciones
+     * de "ya existe" no acceden al disco.
+     */
+    private void loadOutputIndex() {
+        try {
+            int files = generator.getOutputIndex().getFileCount();
+            if (files > 0) {
+                ConsoleUtils.printInfo("Directorio de salida: " + files + " archivos existentes");
+            }
+        } catch (IOException e) {
+            ConsoleUtils.printWarning("No se pudo indexar el directorio de salida: " + e.getMessage());
+        }
+    }
+
+    private void refreshOutputIndex() {
+        try {
+            int changes = generator.refreshOutputIndex();
+            prefetcher.invalidateAll();
+            ConsoleUtils.printSuccess(changes == 0
+                    ? "Sin cambios externos en el directorio de salida."
+                    : changes + " archivos cambiados por fuera del generador.");
+            prefetcher.prefetchAround(currentIndex);
+        } catch (IOException e) {
+            ConsoleUtils.printError("Error al releer el directorio de salida: " + e.getMessage());
         }
     }
 
@@ -137,6 +253,7 @@ public class InteractiveMode {
         System.out.println("│  [5] Generar TODO    [6] Generar restantes       │");
         System.out.println("│  [7] Listar          [8] Filtrar                 │");
         System.out.println("│  [9] Estado          [10] Generar README         │");
+        System.out.println("│  [11] Releer disco                               │");
         System.out.println("│  [0] Salir           [h] Ayuda                   │");
         System.out.println("└──────────────────────────────────────────────────┘");
         System.out.print("Opción: ");
@@ -184,11 +301,13 @@ public class InteractiveMode {
         ConsoleUtils.printCodeBlock(block);
         ConsoleUtils.printCodePreview(block.getContent(), 15);
 
-        if (generatedBlocks.contains(currentIndex)) {
+        if (generatedBlocks.get(currentIndex)) {
             ConsoleUtils.printSuccess("Este archivo ya fue generado.");
         } else if (generator.fileExists(block)) {
             ConsoleUtils.printWarning("El archivo ya existe en disco.");
         }
+
+        prefetcher.prefetchAround(currentIndex);
     }
 
     private void processCurrentBlock() {
@@ -198,17 +317,13 @@ public class InteractiveMode {
         ConsoleUtils.printCodeBlock(block);
         ConsoleUtils.printCodePreview(block.getContent(), 10);
 
-        if (generator.fileExists(block)) {
-            try {
-                String existing = generator.getExistingContent(block);
-                if (existing != null) {
-                    ConsoleUtils.printDiff(existing, block.getContent());
-                }
-            } catch (IOException e) {
-                // Ignorar
-            }
+        BlockPrefetcher.DiskState diskState = prefetcher.get(currentIndex);
+        if (diskState.exists() && diskState.getDiff() != null) {
+            ConsoleUtils.printDiff(diskState.getDiff());
         }
 
+        prefetcher.prefetchAround(currentIndex);
+
         System.out.println();
         System.out.println("¿Qué deseas hacer?");
         System.out.println("  [g] Generar este archivo");
@@ -250,7 +365,8 @@ public class InteractiveMode {
 
         try {
             generator.generateFile(currentIndex);
-            generatedBlocks.add(currentIndex);
+            generatedBlocks.set(currentIndex);
+            prefetcher.invalidate(currentIndex);
             ConsoleUtils.printSuccess("Archivo generado: " + block.getFilePath());
         } catch (IOException e) {
             ConsoleUtils.printError("Error al generar: " + e.getMessage());
@@ -281,7 +397,8 @@ public class InteractiveMode {
 
             try {
                 generator.generateFile(i);
-                generatedBlocks.add(i);
+                generatedBlocks.set(i);
+                prefetcher.invalidate(i);
                 success++;
             } catch (IOException e) {
                 errors++;
@@ -307,7 +424,7 @@ public class InteractiveMode {
     private void generateRemaining() {
         List<Integer> remaining = new ArrayList<>();
         for (int i = 0; i < blocks.size(); i++) {
-            if (!generatedBlocks.contains(i) && blocks.get(i).getFilePath() != null) {
+            if (!generatedBlocks.get(i) && blocks.get(i).getFilePath() != null) {
                 remaining.add(i);
             }
         }
@@ -326,7 +443,8 @@ public class InteractiveMode {
         for (int i : remaining) {
             try {
                 generator.generateFile(i);
-                generatedBlocks.add(i);
+                generatedBlocks.set(i);
+                prefetcher.invalidate(i);
                 ConsoleUtils.printSuccess("Generado: " + blocks.get(i).getFileName());
             } catch (IOException e) {
                 ConsoleUtils.printError("Error: " + blocks.get(i).getFileName());
@@ -365,7 +483,7 @@ public class InteractiveMode {
                 ConsoleUtils.printPhase(currentPhase);
             }
 
-            String status = generatedBlocks.contains(i) ? "✓" : " ";
+            String status = generatedBlocks.get(i) ? "✓" : " ";
             String type = block.getType().getShortName();
 
             System.out.printf("  [%s] %3d. [%s] %s%n",
@@ -458,7 +576,7 @@ public class InteractiveMode {
     private void showStatus() {
         ConsoleUtils.printSubHeader("Estado del proyecto");
 
-        int generated = generatedBlocks.size();
+        int generated = generatedBlocks.cardinality();
         int pending = 0;
         for (CodeBlock b : blocks) {
             if (b.getFilePath() != null) pending++;
@@ -496,6 +614,7 @@ public class InteractiveMode {
               a, all        - Generar todos los archivos
               l, list       - Listar todos los bloques
               readme        - Generar README.md con la guía
+              refresh       - Releer el directorio de salida (cambios externos)
               q, quit       - Salir
             
             El README.md contendrá el contenido completo del archivo Markdown
@@ -0,0 +1,320 @@
+// src/main/java/com/generator/JavaHeaderLexer.java
+
+package com.generator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Lexer mínimo para la cabecera de un archivo Java.
+ *
+ * Lee la declaración de paquete, los imports, las anotaciones y la primera
+ * declaración de tipo de nivel superior, saltando comentarios y literales.
+ * Se detiene en cuanto encuentra el nombre del tipo, así que su coste depende
+ * del tamaño de la cabecera y no del cuerpo de la clase.
+ */
+public final class JavaHeaderLexer {
+
+    private static final int EOF = -1;
+    private static final int IDENT = -2;
+    private static final int LITERAL = -3;
+
+    private final String code;
+    private int pos = 0;
+    private int tokenStart;
+    private int tokenEnd;
+    private int lastToken;
+    private int pushedBack = 0;
+
+    private JavaHeaderLexer(String code) {
+        this.code = code;
+    }
+
+    /**
+     * Resultado del análisis de la cabecera.
+     */
+    public static final class Header {
+        private final String packageName;
+        private final List<String> imports;
+        private final List<String> annotations;
+        private final String typeName;
+        private final String typeKind;
+
+        Header(String packageName, List<String> imports, List<String> annotations,
+               String typeName, String typeKind) {
+            this.packageName = packageName;
+            this.imports = Collections.unmodifiableList(imports);
+            this.annotations = Collections.unmodifiableList(annotations);
+            this.typeName = typeName;
+            this.typeKind = typeKind;
+        }
+
+        public String getPackageName() { return packageName; }
+        public List<String> getImports() { return imports; }
+        /** Nombres simples de las anotaciones previas al tipo (sin '@'). */
+        public List<String> getAnnotations() { return annotations; }
+        public String getTypeName() { return typeName; }
+        /** class, interface, enum, record o @interface. */
+        public String getTypeKind() { return typeKind; }
+
+        public boolean hasAnnotation(String simpleName) {
+            return annotations.contains(simpleName);
+        }
+
+        public boolean importsFrom(String packagePrefix) {
+            for (String imported : imports) {
+                if (imported.startsWith(packagePrefix)
+                        || imported.startsWith("static " + packagePrefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    public static Header scan(String code) {
+        return new JavaHeaderLexer(code).scanHeader();
+    }
+
+    /**
+     * Identificadores que empiezan por mayúscula en todo el código (posibles
+     * nombres de tipo), sin contar comentarios ni literales.
+     */
+    public static Set<String> typeReferences(String code) {
+        JavaHeaderLexer lexer = new JavaHeaderLexer(code);
+        Set<String> names = new HashSet<>();
+        int token;
+        while ((token = lexer.readToken()) != EOF) {
+            if (token == IDENT && Character.isUpperCase(code.charAt(lexer.tokenStart))) {
+                names.add(lexer.tokenText());
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Indica si la anotación aparece en cualquier punto del código (también en
+     * métodos y campos), sin contar comentarios ni literales. A diferencia de
+     * {@link #scan} recorre el archivo entero.
+     */
+    public static boolean hasAnnotationAnywhere(String code, String simpleName) {
+        JavaHeaderLexer lexer = new JavaHeaderLexer(code);
+        int token;
+        while ((token = lexer.next()) != EOF) {
+            if (token != '@' || lexer.next() != IDENT) continue;
+            String qualified = lexer.readQualifiedName(lexer.tokenText());
+            if (qualified.substring(qualified.lastIndexOf('.') + 1).equals(simpleName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Header scanHeader() {
+        String packageName = null;
+        List<String> imports = new ArrayList<>();
+        List<String> annotations = new ArrayList<>();
+
+        while (true) {
+            int token = next();
+            if (token == EOF || token == '{') {
+                break;
+            }
+
+            if (token == '@') {
+                int afterAt = next();
+                if (afterAt != IDENT) continue;
+                if (tokenIs("interface")) {
+                    String name = nextIdentifier();
+                    return new Header(packageName, imports, annotations, name, "@interface");
+                }
+                String qualified = readQualifiedName(tokenText());
+                annotations.add(qualified.substring(qualified.lastIndexOf('.') + 1));
+                if (next() == '(') {
+                    skipBalancedParens();
+                } else {
+                    pushBack();
+                }
+                continue;
+            }
+
+            if (token != IDENT) continue;
+
+            if (tokenIs("package")) {
+                int identToken = next();
+                if (identToken == IDENT) {
+                    packageName = readQualifiedName(tokenText());
+                }
+            } else if (tokenIs("import")) {
+                imports.add(readImport());
+            } else if (tokenIs("class") || tokenIs("interface") || tokenIs("enum")) {
+                String kind = tokenText();
+                String name = nextIdentifier();
+                return new Header(packageName, imports, annotations, name, kind);
+            } else if (tokenIs("record")) {
+                // "record" es contextual: solo declara un tipo si le sigue un identificador
+                if (next() == IDENT) {
+                    return new Header(packageName, imports, annotations, tokenText(), "record");
+                }
+                pushBack();
+            }
+            // Modificadores (public, sealed, non-sealed, final...) se ignoran
+        }
+
+        return new Header(packageName, imports, annotations, null, null);
+    }
+
+    private String nextIdentifier() {
+        return next() == IDENT ? tokenText() : null;
+    }
+
+    private String readQualifiedName(String first) {
+        StringBuilder name = new StringBuilder(first);
+        while (true) {
+            if (next() != '.') {
+                pushBack();
+                break;
+            }
+            if (next() != IDENT) {
+                pushBack();
+                break;
+            }
+            name.append('.').append(code, tokenStart, tokenEnd);
+        }
+        return name.toString();
+    }
+
+    private String readImport() {
+        StringBuilder imported = new StringBuilder();
+        while (true) {
+            int token = next();
+            if (token == ';' || token == EOF) break;
+            if (token == IDENT) {
+                if (imported.length() > 0 && imported.charAt(imported.length() - 1) != '.') {
+                    imported.append(' ');
+                }
+                imported.append(code, tokenStart, tokenEnd);
+            } else if (token == '.' || token == '*') {
+                imported.append((char) token);
+            }
+        }
+        return imported.toString();
+    }
+
+    private void skipBalancedParens() {
+        int depth = 1;
+        while (depth > 0) {
+            int token = next();
+            if (token == EOF) return;
+            if (token == '(') depth++;
+            else if (token == ')') depth--;
+        }
+    }
+
+    private boolean tokenIs(String word) {
+        int length = tokenEnd - tokenStart;
+        return length == word.length() && code.startsWith(word, tokenStart);
+    }
+
+    private String tokenText() {
+        return code.substring(tokenStart, tokenEnd);
+    }
+
+    private void pushBack() {
+        pushedBack = 1;
+    }
+
+    /**
+     * Devuelve el siguiente token: IDENT, LITERAL, EOF o el propio carácter de un símbolo.
+     */
+    private int next() {
+        if (pushedBack > 0) {
+            pushedBack = 0;
+            return lastToken;
+        }
+        lastToken = readToken();
+        return lastToken;
+    }
+
+    private int readToken() {
+        int length = code.length();
+        while (pos < length) {
+            char c = code.charAt(pos);
+
+            if (Character.isWhitespace(c)) {
+                pos++;
+            } else if (c == '/' && pos + 1 < length && code.charAt(pos + 1) == '/') {
+                int newline = code.indexOf('\n', pos);
+                pos = newline < 0 ? length : newline + 1;
+            } else if (c == '/' && pos + 1 < length && code.charAt(pos + 1) == '*') {
+                int close = code.indexOf("*/", pos + 2);
+                pos = close < 0 ? length : close + 2;
+            } else if (c == '"' || c == '\'') {
+                tokenStart = pos;
+                skipLiteral(c);
+                tokenEnd = pos;
+                return LITERAL;
+            } else if (Character.isJavaIdentifierStart(c)) {
+                tokenStart = pos;
+                pos++;
+                while (pos < length && Character.isJavaIdentifierPart(code.charAt(pos))) pos++;
+                // Una variable de plantilla ${...} forma parte del identificador
+                if (c == '$' && pos == tokenStart + 1 && pos < length && code.charAt(pos) == '{') {
+                    int close = code.indexOf('}', pos);
+                    if (close > 0) {
+                        pos = close + 1;
+                        while (pos < length && Character.isJavaIdentifierPart(code.charAt(pos))) pos++;
+                    }
+                }
+                // "non-sealed" se trata como un único modificador
+                if (pos + 7 <= length && code.startsWith("-sealed", pos) && code.startsWith("non", tokenStart)
+                        && pos - tokenStart == 3) {
+                    pos += 7;
+                }
+                tokenEnd = pos;
+                return IDENT;
+            } else {
+                tokenStart = pos;
+                pos++;
+                tokenEnd = pos;
+                return c;
+            }
+        }
+        return EOF;
+    }
+
+    private void skipLiteral(char quote) {
+        int length = code.length();
+        if (quote == '"' && code.startsWith("\"\"\"", pos)) {
+            int close = pos + 3;
+            while (true) {
+                close = code.indexOf("\"\"\"", close);
+                if (close < 0) {
+                    pos = length;
+                    return;
+                }
+                if (code.charAt(close - 1) != '\\') {
+                    pos = close + 3;
+                    return;
+                }
+                close++;
+            }
+        }
+
+        pos++;
+        while (pos < length) {
+            char c = code.charAt(pos);
+            if (c == '\\') {
+                pos += 2;
+            } else if (c == quote || c == '\n') {
+                pos++;
+                return;
+            } else {
+                pos++;
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+// src/main/java/com/generator/JsonWriter.java
+
+package com.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Escritor JSON en streaming, sin construir un árbol en memoria.
+ * Solo cubre lo necesario para listar bloques y estadísticas.
+ */
+public class JsonWriter {
+
+    private final Writer out;
+    // Indica por nivel de anidamiento si ya se escribió algún elemento
+    private final boolean[] hasElements = new boolean[32];
+    private int depth = 0;
+    private boolean afterName = false;
+
+    public JsonWriter(Writer out) {
+        this.out = out;
+    }
+
+    public JsonWriter beginObject() throws IOException {
+        separator();
+        out.write('{');
+        push();
+        return this;
+    }
+
+    public JsonWriter endObject() throws IOException {
+        depth--;
+        out.write('}');
+        return this;
+    }
+
+    public JsonWriter beginArray() throws IOException {
+        separator();
+        out.write('[');
+        push();
+        return this;
+    }
+
+    public JsonWriter endArray() throws IOException {
+        depth--;
+        out.write(']');
+        return this;
+    }
+
+    public JsonWriter name(String name) throws IOException {
+        separator();
+        writeString(name);
+        out.write(':');
+        afterName = true;
+        return this;
+    }
+
+    public JsonWriter value(String value) throws IOException {
+        separator();
+        if (value == null) {
+            out.write("null");
+        } else {
+            writeString(value);
+        }
+        return this;
+    }
+
+    public JsonWriter value(long value) throws IOException {
+        separator();
+        out.write(Long.toString(value));
+        return this;
+    }
+
+    public JsonWriter value(boolean value) throws IOException {
+        separator();
+        out.write(value ? "true" : "false");
+        return this;
+    }
+
+    public JsonWriter field(String name, String value) throws IOException {
+        return name(name).value(value);
+    }
+
+    public JsonWriter field(String name, long value) throws IOException {
+        return name(name).value(value);
+    }
+
+    public JsonWriter field(String name, boolean value) throws IOException {
+        return name(name).value(value);
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    private void push() {
+        depth++;
+        hasElements[depth] = false;
+    }
+
+    private void separator() throws IOException {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (depth > 0) {
+            if (hasElements[depth]) {
+                out.write(',');
+            }
+            hasElements[depth] = true;
+        }
+    }
+
+    private void writeString(String text) throws IOException {
+        out.write('"');
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            String escape = null;
+            if (c == '"') escape = "\\\"";
+            else if (c == '\\') escape = "\\\\";
+            else if (c == '\n') escape = "\\n";
+            else if (c == '\r') escape = "\\r";
+            else if (c == '\t') escape = "\\t";
+            else if (c < 0x20) escape = String.format("\\u%04x", (int) c);
+
+            if (escape != null) {
+                out.write(text, start, i - start);
+                out.write(escape);
+                start = i + 1;
+            }
+        }
+        out.write(text, start, text.length() - start);
+        out.write('"');
+    }
+}
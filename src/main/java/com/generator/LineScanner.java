@@ -0,0 +1,113 @@
+// src/main/java/com/generator/LineScanner.java
+
+package com.generator;
+
+/**
+ * Búsqueda de las líneas que pueden cambiar el estado del parser.
+ *
+ * Solo importan las líneas cuyo primer carácter, tras un máximo de tres
+ * espacios, es '`', '~' o '#': vallas de apertura y cierre y títulos. El resto
+ * (la prosa y casi todo el código) se salta en bloque, contando solo los
+ * saltos de línea. La versión escalar recorre las líneas con
+ * {@link String#indexOf(int, int)}; {@code VectorLineScanner}, si se compiló
+ * con el perfil {@code vector} y se arranca con
+ * {@code --add-modules jdk.incubator.vector}, compara 16 o 32 caracteres por
+ * instrucción.
+ */
+abstract class LineScanner {
+
+    private static final String VECTOR_IMPLEMENTATION = "com.generator.VectorLineScanner";
+
+    /**
+     * Recorrido de un texto concreto.
+     */
+    interface Cursor {
+        /**
+         * Inicio de la primera línea candidata en {@code from} o después, o la
+         * longitud del texto si no quedan. {@code from} debe ser inicio de línea.
+         */
+        int next(int from);
+
+        /**
+         * Líneas que la última llamada a {@link #next} dejó atrás (incluida
+         * una última línea sin salto).
+         */
+        int skippedLines();
+    }
+
+    abstract String name();
+
+    abstract Cursor open(String text);
+
+    static LineScanner scalar() {
+        return Scalar.INSTANCE;
+    }
+
+    /**
+     * La implementación con la Vector API, o null si no está compilada o el
+     * módulo {@code jdk.incubator.vector} no se añadió al arrancar.
+     */
+    static LineScanner vector() {
+        try {
+            return (LineScanner) Class.forName(VECTOR_IMPLEMENTATION).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * La más rápida disponible: vectorial si se puede, escalar si no.
+     */
+    static LineScanner best() {
+        LineScanner vector = vector();
+        return vector != null ? vector : scalar();
+    }
+
+    /**
+     * Si la línea que empieza en {@code lineStart} puede ser una valla o un título.
+     */
+    static boolean isCandidate(String text, int lineStart) {
+        int end = Math.min(text.length(), lineStart + MarkdownSyntax.MAX_FENCE_INDENT + 1);
+        for (int i = lineStart; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == '`' || c == '~' || c == '#') return true;
+            if (c != ' ') return false;
+        }
+        return false;
+    }
+
+    private static final class Scalar extends LineScanner {
+        static final Scalar INSTANCE = new Scalar();
+
+        @Override
+        String name() {
+            return "escalar";
+        }
+
+        @Override
+        Cursor open(String text) {
+            return new Cursor() {
+                private int skipped;
+
+                @Override
+                public int next(int from) {
+                    skipped = 0;
+                    int lineStart = from;
+                    int length = text.length();
+                    while (lineStart < length && !isCandidate(text, lineStart)) {
+                        int newline = text.indexOf('\n', lineStart);
+                        skipped++;
+                        if (newline < 0) return length;
+                        lineStart = newline + 1;
+                    }
+                    return lineStart;
+                }
+
+                @Override
+                public int skippedLines() {
+                    return skipped;
+                }
+            };
+        }
+    }
+}
@@ -3,34 +3,58 @@
 package com.generator;
 
 import java.io.IOException;
-import java.nio.file.Files;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Parser de archivos Markdown que extrae bloques de código.
  */
 public class MarkdownParser {
 
-    // Patrones para extraer rutas de archivos
+    // Patrones para extraer rutas de archivos (nunca cruzan saltos de línea, así
+    // que se aplican línea a línea sobre regiones acotadas por ScanLimits)
     private static final Pattern[] FILE_PATH_PATTERNS = {
         Pattern.compile("(src/(?:main|test)/(?:java|resources)/[^\\s`\"'<>]+\\.[a-zA-Z]+)"),
         Pattern.compile("\\b(pom\\.xml|build\\.gradle(?:\\.kts)?|settings\\.gradle(?:\\.kts)?|Dockerfile|docker-compose\\.ya?ml|\\.gitignore)\\b"),
         Pattern.compile("(application(?:-[a-zA-Z]+)?\\.(?:yml|yaml|properties))"),
-        Pattern.compile("\\b([a-zA-Z][a-zA-Z0-9_-]*\\.(?:java|xml|yml|yaml|properties|json|sql|sh|md))\\b")
+        Pattern.compile("\\b([a-zA-Z][a-zA-Z0-9_-]*+\\.(?:java|xml|yml|yaml|properties|json|sql|sh|md))\\b")
     };
 
-    private static final Pattern PACKAGE_PATTERN = Pattern.compile(
-        "^package\\s+([a-zA-Z_][a-zA-Z0-9_.]*);", Pattern.MULTILINE);
+    private static final String[] TEST_ANNOTATIONS = {
+        "SpringBootTest", "DataJpaTest", "WebMvcTest", "ExtendWith", "Testcontainers"
+    };
+
+    private static final String[] TEST_IMPORT_PREFIXES = {
+        "org.junit.", "org.testng.", "org.springframework.boot.test.",
+        "org.springframework.test.", "org.testcontainers."
+    };
 
-    private static final Pattern CLASS_NAME_PATTERN = Pattern.compile(
-        "(?:public\\s+)?(?:abstract\\s+)?(?:class|interface|enum|record)\\s+([A-Z][a-zA-Z0-9_]*)");
+    private static final int LINES_BEFORE_CONTEXT = 5;
 
     private final Path markdownFile;
     private boolean debugMode = false;
+    private ConfigPathRules configRules = ConfigPathRules.defaults();
+    private boolean deltaStorage = false;
+    private ScanLimits scanLimits = ScanLimits.defaults();
+    private final List<Problem> problems = Collections.synchronizedList(new ArrayList<>());
+    private final List<PathStrategy> extraStrategies = new ArrayList<>();
+    private boolean adaptivePaths = false;
+    private PathStrategies pathStrategies = new PathStrategies(builtinStrategies(), false);
+    private BlockFilter filter = BlockFilter.all();
+    // null = examinar todas las líneas; si no, saltar hasta las candidatas
+    private LineScanner lineScanner;
 
     public MarkdownParser(Path markdownFile) {
         this.markdownFile = markdownFile;
@@ -40,100 +64,491 @@ public class MarkdownParser {
         this.debugMode = debug;
     }
 
+    public void setConfigRules(ConfigPathRules configRules) {
+        this.configRules = configRules;
+    }
+
+    /**
+     * Añade una estrategia de rutas solo a este parser, además de las
+     * predefinidas y las registradas en META-INF/services.
+     */
+    void addPathStrategy(PathStrategy strategy) {
+        extraStrategies.add(strategy);
+        rebuildPathStrategies();
+    }
+
+    /**
+     * Reordena las estrategias de rutas por tasa de acierto mientras parsea
+     * (sin cambiar el resultado); el orden aprendido está en {@link #getPathStrategies()}.
+     */
+    public void setAdaptivePaths(boolean adaptive) {
+        this.adaptivePaths = adaptive;
+        rebuildPathStrategies();
+    }
+
+    public PathStrategies getPathStrategies() {
+        return pathStrategies;
+    }
+
+    private void rebuildPathStrategies() {
+        List<PathStrategy> strategies = new ArrayList<>(builtinStrategies());
+        strategies.addAll(extraStrategies);
+        this.pathStrategies = new PathStrategies(strategies, adaptivePaths);
+    }
+
+    public void setScanLimits(ScanLimits scanLimits) {
+        this.scanLimits = scanLimits;
+    }
+
+    /**
+     * Bloques a extraer (--only, --phase, --type); el resto se salta sin copiar su contenido.
+     */
+    public void setFilter(BlockFilter filter) {
+        this.filter = filter;
+    }
+
+    /**
+     * Salta de golpe las líneas que no pueden ser vallas ni títulos, con la
+     * Vector API si está disponible y si no con la búsqueda escalar.
+     */
+    public void setFastScan(boolean fastScan) {
+        this.lineScanner = fastScan ? LineScanner.best() : null;
+    }
+
+    void setLineScanner(LineScanner lineScanner) {
+        this.lineScanner = lineScanner;
+    }
+
+    /**
+     * Nombre del escáner de líneas en uso, o null si se examinan todas.
+     */
+    public String getLineScannerName() {
+        return lineScanner != null ? lineScanner.name() : null;
+    }
+
+    /**
+     * Guarda las versiones sucesivas de una misma ruta como deltas por líneas.
+     */
+    public void setDeltaStorage(boolean deltaStorage) {
+        this.deltaStorage = deltaStorage;
+    }
+
+    /**
+     * Parsea la guía, expandiendo las directivas {@code <!-- include: capitulo.md -->}.
+     * Los capítulos se parsean en paralelo y los bloques se devuelven en orden de documento.
+     */
     public List<CodeBlock> parse() throws IOException {
-        String content = Files.readString(markdownFile);
+        return parse(GuideAssembler.assemble(markdownFile));
+    }
+
+    /**
+     * Parsea una guía ya ensamblada en segmentos.
+     */
+    public List<CodeBlock> parse(List<GuideAssembler.Segment> segments) {
+        GeneratorEvents.Parse event = new GeneratorEvents.Parse();
+        event.begin();
+        problems.clear();
+
+        List<CodeBlock> blocks;
+        if (segments.size() == 1) {
+            GuideAssembler.Segment segment = segments.get(0);
+            blocks = new ArrayList<>();
+            scan(segment.getContent(), ScanState.INITIAL, new Numbering(blocks::add),
+                    sourceName(segment), segment.getFirstLine());
+            blocks = store(blocks);
+        } else {
+            blocks = store(parseSegments(segments));
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.guide = sourceName(segments.get(0));
+            event.segments = segments.size();
+            event.blocks = blocks.size();
+            for (GuideAssembler.Segment segment : segments) {
+                event.bytes += segment.getContent().getBytes(StandardCharsets.UTF_8).length;
+            }
+            event.commit();
+        }
+        return blocks;
+    }
+
+    /**
+     * Parsea el contenido Markdown ya cargado en memoria.
+     */
+    public List<CodeBlock> parse(String content) {
+        GeneratorEvents.Parse event = new GeneratorEvents.Parse();
+        event.begin();
+        problems.clear();
+
+        List<CodeBlock> blocks = new ArrayList<>();
+        String sourceName = markdownFile != null ? markdownFile.getFileName().toString() : null;
+        scan(content, ScanState.INITIAL, new Numbering(blocks::add), sourceName, 1);
+        blocks = store(blocks);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.guide = sourceName;
+            event.segments = 1;
+            event.blocks = blocks.size();
+            event.bytes = content.getBytes(StandardCharsets.UTF_8).length;
+            event.commit();
+        }
+        return blocks;
+    }
+
+    /**
+     * Parsea los segmentos en orden de documento y entrega cada bloque en cuanto
+     * se cierra su valla, sin retener la lista ni pasar por el almacén de contenidos.
+     */
+    public void parse(List<GuideAssembler.Segment> segments, Consumer<CodeBlock> sink) {
+        StreamingScan streaming = new StreamingScan(sink);
+        for (GuideAssembler.Segment segment : segments) {
+            streaming.test(segment);
+        }
+        streaming.finish();
+    }
+
+    /**
+     * Como {@link #parse(List, Consumer)}, pero leyendo la guía (y sus capítulos)
+     * por trozos: la memoria no depende del tamaño de la guía ni del número de bloques.
+     */
+    public void parseStream(Consumer<CodeBlock> sink) throws IOException {
+        StreamingScan streaming = new StreamingScan(sink);
+        GuideStream.read(markdownFile, GuideStream.DEFAULT_CHUNK_CHARS, streaming);
+        streaming.finish();
+    }
+
+    /**
+     * Recorre segmentos consecutivos arrastrando la fase, la sección y la numeración.
+     */
+    private final class StreamingScan implements Predicate<GuideAssembler.Segment> {
+        private final Numbering numbering;
+        private final GeneratorEvents.Parse event = new GeneratorEvents.Parse();
+        private ScanState state = ScanState.INITIAL;
+        private int segments = 0;
+        private long bytes = 0;
+
+        StreamingScan(Consumer<CodeBlock> sink) {
+            this.numbering = new Numbering(sink);
+            problems.clear();
+            event.begin();
+        }
+
+        /**
+         * Parsea el segmento; siempre devuelve true (se lee la guía entera).
+         */
+        @Override
+        public boolean test(GuideAssembler.Segment segment) {
+            if (segments++ == 0) {
+                event.guide = sourceName(segment);
+            }
+            if (event.isEnabled()) {
+                bytes += segment.getContent().getBytes(StandardCharsets.UTF_8).length;
+            }
+            state = scan(segment.getContent(), state, numbering, sourceName(segment), segment.getFirstLine());
+            return true;
+        }
+
+        void finish() {
+            event.end();
+            if (event.shouldCommit()) {
+                event.segments = segments;
+                event.blocks = numbering.accepted;
+                event.bytes = bytes;
+                event.commit();
+            }
+        }
+    }
+
+    private static String sourceName(GuideAssembler.Segment segment) {
+        if (segment.getSource() == null) return null;
+        Path fileName = segment.getSource().getFileName();
+        return fileName != null ? fileName.toString() : null;
+    }
+
+    /**
+     * Pasa los cuerpos por el almacén direccionado por contenido, en orden de documento,
+     * para que los bloques idénticos compartan instancia (y opcionalmente usen deltas).
+     */
+    private List<CodeBlock> store(List<CodeBlock> blocks) {
+        BlockStore blockStore = new BlockStore(deltaStorage);
+        List<CodeBlock> stored = blockStore.compact(blocks);
+        debug("Almacén de bloques: " + blockStore);
+        return stored;
+    }
+
+    /**
+     * Parsea varios segmentos en paralelo conservando el contexto entre ellos.
+     *
+     * Una primera pasada solo de títulos (barata y también en paralelo) calcula
+     * la fase y sección vigentes al final de cada segmento; con ellas se conoce
+     * el contexto inicial de cada uno y la pasada completa puede ir en paralelo.
+     */
+    private List<CodeBlock> parseSegments(List<GuideAssembler.Segment> segments) {
+        List<ScanState> endStates = segments.parallelStream()
+                .map(segment -> scan(segment.getContent(), ScanState.UNKNOWN, null, null, 1))
+                .collect(Collectors.toList());
+
+        List<ScanState> startStates = new ArrayList<>(segments.size());
+        ScanState state = ScanState.INITIAL;
+        for (ScanState end : endStates) {
+            startStates.add(state);
+            state = state.followedBy(end);
+        }
+
+        List<List<CodeBlock>> parsed = IntStream.range(0, segments.size()).parallel()
+                .mapToObj(i -> {
+                    GuideAssembler.Segment segment = segments.get(i);
+                    List<CodeBlock> chapterBlocks = new ArrayList<>();
+                    scan(segment.getContent(), startStates.get(i), chapterBlocks::add,
+                            sourceName(segment), segment.getFirstLine());
+                    return chapterBlocks;
+                })
+                .collect(Collectors.toList());
+
         List<CodeBlock> blocks = new ArrayList<>();
+        Numbering numbering = new Numbering(blocks::add);
+        for (List<CodeBlock> chapterBlocks : parsed) {
+            chapterBlocks.forEach(numbering);
+        }
+        return blocks;
+    }
+
+    /**
+     * Numera los bloques en orden de documento (orden global y número de fase)
+     * y solo después aplica el filtro, así que un parseo filtrado conserva la
+     * numeración del parseo completo.
+     */
+    private final class Numbering implements Consumer<CodeBlock> {
+        private final Consumer<CodeBlock> sink;
+        private int order = 0;
+        private int phaseOrdinal = 0;
+        private String phase;
+        int accepted = 0;
+
+        Numbering(Consumer<CodeBlock> sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public void accept(CodeBlock block) {
+            if (phaseOrdinal == 0 || !Objects.equals(phase, block.getPhase())) {
+                phase = block.getPhase();
+                phaseOrdinal++;
+            }
+            order++;
+            if (!filter.acceptsPhase(block.getPhase()) || !filter.acceptsPath(block.getFilePath())) {
+                debug("- Bloque filtrado: " + block.getFilePath());
+                return;
+            }
+            accepted++;
+            sink.accept(block.toBuilder().order(order).phaseOrdinal(phaseOrdinal).build());
+        }
+    }
+
+    /**
+     * Recorre el texto carácter a carácter siguiendo las reglas de CommonMark
+     * para bloques delimitados (``` o ~~~, longitud mínima 3, hasta 3 espacios
+     * de sangría, cierre con el mismo carácter y al menos la misma longitud).
+     * Solo las líneas de apertura/cierre, los títulos y el contenido de los
+     * bloques generan objetos; el resto de líneas se examina sin copiarlas.
+     *
+     * @param blocks destino de los bloques en orden; si es null solo se siguen los títulos
+     * @param sourceName archivo del que procede el texto, para ubicar los bloques
+     * @param firstLine línea de ese archivo (desde 1) en la que empieza el texto
+     * @return fase y sección vigentes al terminar
+     */
+    private ScanState scan(String content, ScanState initial, Consumer<CodeBlock> blocks,
+                           String sourceName, int firstLine) {
+        String currentPhase = initial.phase;
+        String currentSection = initial.section;
 
-        String currentPhase = "Inicio";
-        String currentSection = "";
-        String previousLine = "";
-        String previousNonEmptyLine = "";
-        int order = 0;
+        LineScanner.Cursor cursor = lineScanner != null ? lineScanner.open(content) : null;
+        // Próximo '\r' del texto, para saber si un tramo de código se puede copiar entero
+        int nextCarriageReturn = -1;
 
-        String[] lines = content.split("\n");
         StringBuilder currentCodeBlock = new StringBuilder();
         String currentLanguage = null;
+        String currentInfo = "";
         boolean insideCodeBlock = false;
-        int codeBlockStartLine = 0;
-
-        for (int lineNum = 0; lineNum < lines.length; lineNum++) {
-            String line = lines[lineNum];
-            String trimmedLine = line.trim();
-
-            // Detectar inicio de fase
-            if (trimmedLine.startsWith("## ")) {
-                String phaseName = trimmedLine.substring(3).trim();
-                if (containsPhaseKeyword(phaseName)) {
-                    currentPhase = phaseName;
-                    debug("Fase detectada: " + currentPhase);
+        char fenceChar = 0;
+        int fenceLength = 0;
+        int fenceIndent = 0;
+        int contextStart = 0;
+        int contextEnd = 0;
+        int codeStartLine = 0;
+        int fenceLine = 0;
+
+        int length = content.length();
+        int lineStart = 0;
+        int lineNum = 0;
+
+        while (lineStart < length) {
+            if (cursor != null) {
+                // Las líneas saltadas no cambian el estado; dentro de un bloque son contenido
+                int candidate = cursor.next(lineStart);
+                if (candidate > lineStart) {
+                    if (insideCodeBlock && blocks != null) {
+                        if (fenceIndent == 0 && nextCarriageReturn < lineStart) {
+                            nextCarriageReturn = content.indexOf('\r', lineStart);
+                            if (nextCarriageReturn < 0) nextCarriageReturn = length;
+                        }
+                        if (fenceIndent == 0 && nextCarriageReturn >= candidate) {
+                            currentCodeBlock.append(content, lineStart, candidate);
+                            if (content.charAt(candidate - 1) != '\n') currentCodeBlock.append('\n');
+                        } else {
+                            for (int from = lineStart; from < candidate; ) {
+                                int end = MarkdownSyntax.lineEnd(content, from);
+                                appendCodeLine(currentCodeBlock, content, from, end, fenceIndent);
+                                from = end + 1;
+                            }
+                        }
+                    }
+                    lineNum += cursor.skippedLines();
+                    lineStart = candidate;
+                    if (lineStart >= length) break;
                 }
             }
 
-            // Detectar sección
-            if (trimmedLine.startsWith("### ")) {
-                currentSection = trimmedLine.substring(4).trim();
-                debug("Sección detectada: " + currentSection);
-            }
+            int lineEnd = MarkdownSyntax.lineEnd(content, lineStart);
+            int textEnd = MarkdownSyntax.textEnd(content, lineStart, lineEnd);
 
-            // Detectar inicio de bloque de código
-            if (trimmedLine.startsWith("```") && !insideCodeBlock) {
-                insideCodeBlock = true;
-                codeBlockStartLine = lineNum;
-                currentLanguage = trimmedLine.length() > 3 
-                    ? trimmedLine.substring(3).trim() 
-                    : "text";
-                currentCodeBlock = new StringBuilder();
-                debug("Inicio bloque " + currentLanguage + " en línea " + lineNum);
-                continue;
-            }
+            int indent = MarkdownSyntax.indentOf(content, lineStart, textEnd);
+            int first = lineStart + indent;
 
-            // Detectar fin de bloque de código
-            if (trimmedLine.equals("```") && insideCodeBlock) {
-                insideCodeBlock = false;
-                String code = currentCodeBlock.toString();
-                
-                debug("Fin bloque en línea " + lineNum + ", " + code.split("\n").length + " líneas");
-
-                SearchContext context = new SearchContext(
-                    code, currentLanguage, currentSection,
-                    previousLine, previousNonEmptyLine,
-                    getLinesBefore(lines, codeBlockStartLine, 5)
-                );
-
-                String filePath = extractFilePath(context);
-                
-                if (filePath != null) {
-                    order++;
-                    
-                    CodeBlock block = new CodeBlock.Builder()
-                        .order(order)
-                        .filePath(normalizePath(filePath))
-                        .language(currentLanguage)
-                        .content(cleanCode(code, filePath))
-                        .phase(currentPhase)
-                        .description(currentSection)
-                        .build();
-                    
-                    blocks.add(block);
-                    debug("✓ Bloque agregado: " + filePath);
+            if (insideCodeBlock) {
+                // Detectar fin de bloque de código
+                if (MarkdownSyntax.isClosingFence(content, first, textEnd, indent, fenceChar, fenceLength)) {
+                    insideCodeBlock = false;
+                    if (blocks != null) {
+                        String code = currentCodeBlock.toString();
+
+                        if (debugMode) {
+                            debug("Fin bloque en línea " + lineNum + ", " + code.split("\n").length + " líneas");
+                        }
+
+                        PathContext context = new PathContext(
+                            code, currentLanguage, scanLimits.line(currentInfo), scanLimits.line(currentSection),
+                            scanLimits.region(content, contextStart, contextEnd)
+                        );
+
+                        String filePath = extractFilePath(context);
+                        String normalized = filePath != null ? normalizePath(filePath) : null;
+
+                        if (filePath != null) {
+                            String cleaned = cleanCode(code, filePath);
+
+                            CodeBlock block = new CodeBlock.Builder()
+                                .filePath(normalized)
+                                .language(currentLanguage)
+                                .content(cleaned)
+                                .phase(currentPhase)
+                                .description(currentSection)
+                                .source(sourceName, codeStartLine + leadingLinesRemoved(code, cleaned))
+                                .build();
+
+                            blocks.accept(block);
+                            debug("✓ Bloque agregado: " + filePath);
+
+                        } else {
+                            debug("✗ No se pudo determinar ruta para bloque " + currentLanguage);
+                        }
+                    }
+                } else if (blocks != null) {
+                    appendCodeLine(currentCodeBlock, content, lineStart, lineEnd, fenceIndent);
+                }
+            } else if (indent <= MarkdownSyntax.MAX_FENCE_INDENT && first < textEnd) {
+                char c = content.charAt(first);
+
+                if (c == '#') {
+                    // Detectar inicio de fase
+                    if (MarkdownSyntax.startsWithHeading(content, first, textEnd, 2)) {
+                        String phaseName = content.substring(first + 3, textEnd).trim();
+                        if (containsPhaseKeyword(phaseName)) {
+                            currentPhase = phaseName;
+                            debug("Fase detectada: " + currentPhase);
+                        }
+                    }
+
+                    // Detectar sección
+                    if (MarkdownSyntax.startsWithHeading(content, first, textEnd, 3)) {
+                        currentSection = content.substring(first + 4, textEnd).trim();
+                        debug("Sección detectada: " + currentSection);
+                    }
                 } else {
-                    debug("✗ No se pudo determinar ruta para bloque " + currentLanguage);
+                    // Detectar inicio de bloque de código
+                    int run = MarkdownSyntax.openingFenceLength(content, first, textEnd, indent);
+                    if (run > 0) {
+                        insideCodeBlock = true;
+                        fenceChar = c;
+                        fenceLength = run;
+                        fenceIndent = indent;
+
+                        if (blocks != null) {
+                            String info = content.substring(first + run, textEnd).trim();
+                            int space = firstWhitespace(info);
+                            currentLanguage = info.isEmpty() ? "text" : info.substring(0, space);
+                            currentInfo = info.substring(space).trim();
+
+                            contextStart = contextStart(content, lineStart);
+                            contextEnd = lineStart;
+                            codeStartLine = firstLine + lineNum + 1;
+                            fenceLine = firstLine + lineNum;
+                            currentCodeBlock.setLength(0);
+                            debug("Inicio bloque " + currentLanguage + " en línea " + lineNum);
+                        }
+                    }
                 }
-                
-                continue;
             }
 
-            if (insideCodeBlock) {
-                currentCodeBlock.append(line).append("\n");
-            }
+            lineStart = lineEnd + 1;
+            lineNum++;
+        }
 
-            previousLine = line;
-            if (!trimmedLine.isEmpty()) {
-                previousNonEmptyLine = trimmedLine;
-            }
+        // CommonMark: un bloque sin cierre llega hasta el final; se descarta y se avisa
+        if (insideCodeBlock && blocks != null) {
+            int swallowed = firstLine + lineNum - fenceLine - 1;
+            problems.add(new Problem(sourceName, fenceLine, String.format(
+                    "bloque %s sin cerrar (%s); se ignoran las %d líneas hasta el final",
+                    currentLanguage, String.valueOf(fenceChar).repeat(fenceLength), swallowed)));
+            debug("✗ Bloque sin cerrar en línea " + fenceLine);
         }
 
-        return blocks;
+        return new ScanState(currentPhase, currentSection);
+    }
+
+    /**
+     * Añade una línea de código al bloque.
+     * CommonMark: se eliminan del contenido hasta tantos espacios como
+     * sangraba la apertura (un tabulador los corta: no se quita).
+     */
+    private static void appendCodeLine(StringBuilder code, String content, int lineStart, int lineEnd, int fenceIndent) {
+        int textEnd = MarkdownSyntax.textEnd(content, lineStart, lineEnd);
+        int from = lineStart;
+        while (from < textEnd && from - lineStart < fenceIndent && content.charAt(from) == ' ') {
+            from++;
+        }
+        code.append(content, from, textEnd).append('\n');
+    }
+
+    /**
+     * Inicio de la línea que está {@link #LINES_BEFORE_CONTEXT} líneas antes
+     * (o del texto), buscando hacia atrás: no hace falta recordar las líneas saltadas.
+     */
+    private static int contextStart(String content, int lineStart) {
+        int start = lineStart;
+        for (int i = 0; i < LINES_BEFORE_CONTEXT && start > 0; i++) {
+            start = content.lastIndexOf('\n', start - 2) + 1;
+        }
+        return start;
+    }
+
+    private static int firstWhitespace(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.isWhitespace(text.charAt(i))) return i;
+        }
+        return text.length();
     }
 
     private boolean containsPhaseKeyword(String text) {
@@ -142,58 +557,73 @@ public class MarkdownParser {
                upper.contains("PHASE") || upper.contains("STEP");
     }
 
-    private String getLinesBefore(String[] lines, int currentLine, int count) {
-        StringBuilder sb = new StringBuilder();
-        int start = Math.max(0, currentLine - count);
-        for (int i = start; i < currentLine; i++) {
-            sb.append(lines[i]).append("\n");
-        }
-        return sb.toString();
-    }
-
-    private String extractFilePath(SearchContext ctx) {
-        String path = null;
+    private String extractFilePath(PathContext ctx) {
+        GeneratorEvents.PathInference event = new GeneratorEvents.PathInference();
+        event.begin();
 
-        path = findPathInCode(ctx.code);
+        PathStrategies.Match match = pathStrategies.resolve(ctx);
+        String path = match != null ? match.path : null;
+        String strategy = match != null ? match.strategy.name() : "ninguna";
         if (path != null) {
-            debug("  Ruta encontrada en código: " + path);
-            return path;
+            debug("  Ruta encontrada (" + strategy + "): " + path);
         }
 
-        path = findPathInText(ctx.section);
-        if (path != null) {
-            debug("  Ruta encontrada en sección: " + path);
-            return path;
+        event.end();
+        if (event.shouldCommit()) {
+            event.strategy = strategy;
+            event.language = ctx.getLanguage();
+            event.path = path;
+            event.commit();
         }
+        return path;
+    }
 
-        path = findPathInText(ctx.linesBefore);
-        if (path != null) {
-            debug("  Ruta encontrada en contexto: " + path);
-            return path;
-        }
+    /**
+     * Estrategias predefinidas en su orden histórico. Las de texto solo ejecutan
+     * las expresiones regulares si el texto tiene algo con forma de archivo.
+     */
+    private List<PathStrategy> builtinStrategies() {
+        return List.of(
+                new Builtin("info", 100, 1, null,
+                        ctx -> mayContainPath(ctx.getInfoString()), ctx -> findPathInText(ctx.getInfoString())),
+                new Builtin("codigo", 200, 2, null,
+                        ctx -> true, ctx -> findPathInCode(ctx.getCode())),
+                new Builtin("seccion", 300, 1, null,
+                        ctx -> mayContainPath(ctx.getSection()), ctx -> findPathInText(ctx.getSection())),
+                new Builtin("contexto", 400, 3, null,
+                        ctx -> mayContainPath(ctx.getLinesBefore()), ctx -> findPathInText(ctx.getLinesBefore())),
+                new Builtin("java", 500, 2, "java",
+                        ctx -> true, ctx -> inferJavaPath(ctx.getCode())),
+                new Builtin("config", 600, 2, null,
+                        ctx -> true, this::inferConfigPath));
+    }
 
-        if (ctx.language.equals("java")) {
-            path = inferJavaPath(ctx.code);
-            if (path != null) {
-                debug("  Ruta inferida de Java: " + path);
-                return path;
+    /**
+     * Condición necesaria de FILE_PATH_PATTERNS: un punto seguido de una letra
+     * (extensión) o "Dockerfile". Un recorrido sin expresiones regulares.
+     */
+    static boolean mayContainPath(String text) {
+        if (text == null) return false;
+        int last = text.length() - 1;
+        for (int i = 0; i < last; i++) {
+            char c = text.charAt(i);
+            if (c == '.') {
+                char next = text.charAt(i + 1);
+                if ((next >= 'a' && next <= 'z') || (next >= 'A' && next <= 'Z')) return true;
+            } else if (c == 'D' && text.startsWith("Dockerfile", i)) {
+                return true;
             }
         }
-
-        path = inferConfigPath(ctx);
-        if (path != null) {
-            debug("  Ruta inferida de config: " + path);
-            return path;
-        }
-
-        return null;
+        return false;
     }
 
     private String findPathInCode(String code) {
-        String[] lines = code.split("\n");
-        
-        for (int i = 0; i < Math.min(5, lines.length); i++) {
-            String line = lines[i].trim();
+        // Solo las primeras líneas, sin partir el bloque entero
+        int lineStart = 0;
+        for (int i = 0; i < 5 && lineStart <= code.length(); i++) {
+            int lineEnd = MarkdownSyntax.lineEnd(code, lineStart);
+            String line = scanLimits.line(code.substring(lineStart, lineEnd)).trim();
+            lineStart = lineEnd + 1;
             
             if (line.startsWith("//")) {
                 String comment = line.substring(2).trim();
@@ -221,14 +651,26 @@ public class MarkdownParser {
         return extractPathFromText(text);
     }
 
+    /**
+     * Aplica los patrones en orden; cada uno recorre el texto línea a línea con
+     * la región del matcher recortada a la longitud máxima de línea.
+     */
     private String extractPathFromText(String text) {
+        int maxLine = scanLimits.getMaxLineLength();
         for (Pattern pattern : FILE_PATH_PATTERNS) {
-            Matcher matcher = pattern.matcher(text);
-            if (matcher.find()) {
-                String match = matcher.group(1);
-                if (isValidPath(match)) {
-                    return match;
+            Matcher matcher = pattern.matcher(text).useTransparentBounds(true);
+            int lineStart = 0;
+            while (lineStart < text.length()) {
+                int lineEnd = MarkdownSyntax.lineEnd(text, lineStart);
+                matcher.region(lineStart, Math.min(lineEnd, lineStart + maxLine));
+                if (matcher.find()) {
+                    String match = matcher.group(1);
+                    if (isValidPath(match)) {
+                        return match;
+                    }
+                    break;
                 }
+                lineStart = lineEnd + 1;
             }
         }
         return null;
@@ -257,22 +699,13 @@ public class MarkdownParser {
     }
 
     private String inferJavaPath(String code) {
-        String packageName = null;
-        String className = null;
-
-        Matcher packageMatcher = PACKAGE_PATTERN.matcher(code);
-        if (packageMatcher.find()) {
-            packageName = packageMatcher.group(1);
-        }
-
-        Matcher classMatcher = CLASS_NAME_PATTERN.matcher(code);
-        if (classMatcher.find()) {
-            className = classMatcher.group(1);
-        }
+        JavaHeaderLexer.Header header = JavaHeaderLexer.scan(code);
+        String packageName = header.getPackageName();
+        String className = header.getTypeName();
 
         if (packageName != null && className != null) {
-            String packagePath = packageName.replace('.', '/');
-            String sourceFolder = isTestClass(className, code) 
+            String packagePath = Template.packageToPath(packageName);
+            String sourceFolder = isTestClass(className, header, code)
                 ? "src/test/java" 
                 : "src/main/java";
             
@@ -282,103 +715,32 @@ public class MarkdownParser {
         return null;
     }
 
-    private boolean isTestClass(String className, String code) {
+    private boolean isTestClass(String className, JavaHeaderLexer.Header header, String code) {
         if (className.endsWith("Test") || className.endsWith("Tests") ||
             className.endsWith("Spec") || className.contains("Contract") ||
             className.endsWith("IT")) {
             return true;
         }
-        
-        if (code.contains("@Test") || code.contains("@SpringBootTest") ||
-            code.contains("@DataJpaTest") || code.contains("@WebMvcTest") ||
-            code.contains("@ExtendWith") || code.contains("@Testcontainers")) {
-            return true;
-        }
-        
-        return false;
-    }
-
-    private String inferConfigPath(SearchContext ctx) {
-        String lang = ctx.language;
-        String code = ctx.code;
-        String section = ctx.section.toLowerCase();
-
-        if (lang.equals("xml") && code.contains("<project")) {
-            return "pom.xml";
-        }
-
-        if (lang.equals("xml") && (code.contains("<beans") || code.contains("<configuration"))) {
-            return "src/main/resources/application-context.xml";
-        }
-
-        if (lang.equals("yaml") || lang.equals("yml")) {
-            if (code.contains("spring:") || code.contains("server:") || 
-                code.contains("datasource:") || code.contains("jpa:")) {
-                
-                if (section.contains("test") || ctx.linesBefore.toLowerCase().contains("test")) {
-                    return "src/test/resources/application-test.yml";
-                }
-                return "src/main/resources/application.yml";
-            }
-            
-            if (code.contains("services:") && code.contains("image:")) {
-                return "docker-compose.yml";
-            }
-        }
-
-        if (lang.equals("properties")) {
-            if (section.contains("test") || ctx.linesBefore.toLowerCase().contains("test")) {
-                return "src/test/resources/application-test.properties";
-            }
-            return "src/main/resources/application.properties";
-        }
-
-        if (lang.equals("sql")) {
-            if (code.toUpperCase().contains("CREATE TABLE")) {
-                return "src/main/resources/schema.sql";
-            }
-            if (code.toUpperCase().contains("INSERT INTO")) {
-                return "src/main/resources/data.sql";
-            }
-            return "src/main/resources/script.sql";
-        }
-
-        if (lang.equals("dockerfile") || code.trim().startsWith("FROM ")) {
-            return "Dockerfile";
-        }
 
-        if (lang.equals("bash") || lang.equals("sh") || code.trim().startsWith("#!/bin/")) {
-            String scriptName = extractScriptName(ctx.section);
-            return scriptName != null ? scriptName : "scripts/script.sh";
+        for (String annotation : TEST_ANNOTATIONS) {
+            if (header.hasAnnotation(annotation)) return true;
         }
 
-        if (lang.equals("gradle") || lang.equals("groovy")) {
-            if (code.contains("plugins {") || code.contains("dependencies {")) {
-                return "build.gradle";
-            }
+        // @Test y similares en los métodos exigen importar el framework de pruebas
+        for (String testPackage : TEST_IMPORT_PREFIXES) {
+            if (header.importsFrom(testPackage)) return true;
         }
 
-        if (lang.equals("kotlin") || lang.equals("kts")) {
-            if (code.contains("plugins {") || code.contains("dependencies {")) {
-                return "build.gradle.kts";
-            }
-        }
-
-        return null;
+        // Fragmentos sin imports: basta un @Test en algún método
+        return JavaHeaderLexer.hasAnnotationAnywhere(code, "Test");
     }
 
-    private String extractScriptName(String section) {
-        Pattern scriptPattern = Pattern.compile("([a-zA-Z][a-zA-Z0-9_-]*\\.sh)");
-        Matcher matcher = scriptPattern.matcher(section);
-        if (matcher.find()) {
-            return "scripts/" + matcher.group(1);
-        }
-        return null;
+    private String inferConfigPath(PathContext ctx) {
+        return configRules.infer(ctx.getLanguage(), ctx.getCode(), ctx.getSection(), ctx.getLinesBefore());
     }
 
     private String normalizePath(String path) {
-        path = path.trim();
-        path = path.replaceAll("[`'\"<>]", "");
+        path = stripQuoteChars(path.trim());
         
         if (path.equals("application.yml") || path.equals("application.yaml")) {
             return "src/main/resources/application.yml";
@@ -396,6 +758,21 @@ public class MarkdownParser {
         return path;
     }
 
+    private static String stripQuoteChars(String path) {
+        StringBuilder sb = null;
+        for (int i = 0; i < path.length(); i++) {
+            char c = path.charAt(i);
+            boolean quote = c == '`' || c == '\'' || c == '"' || c == '<' || c == '>';
+            if (quote && sb == null) {
+                sb = new StringBuilder(path.length());
+                sb.append(path, 0, i);
+            } else if (!quote && sb != null) {
+                sb.append(c);
+            }
+        }
+        return sb != null ? sb.toString() : path;
+    }
+
     private String cleanCode(String code, String filePath) {
         if (code == null) return "";
         
@@ -422,6 +799,23 @@ public class MarkdownParser {
         return cleaned.toString().trim();
     }
 
+    /**
+     * Líneas que cleanCode quitó al principio del bloque (comentario de ruta y
+     * líneas en blanco), para que la línea de origen apunte al contenido limpio.
+     */
+    private static int leadingLinesRemoved(String code, String cleaned) {
+        if (cleaned.isEmpty()) return 0;
+        int firstLineEnd = cleaned.indexOf('\n');
+        String firstLine = firstLineEnd < 0 ? cleaned : cleaned.substring(0, firstLineEnd);
+        int position = code.indexOf(firstLine);
+        if (position < 0) return 0;
+        int lines = 0;
+        for (int i = 0; i < position; i++) {
+            if (code.charAt(i) == '\n') lines++;
+        }
+        return lines;
+    }
+
     private boolean containsPath(String line, String filePath) {
         if (filePath == null) return false;
         
@@ -438,53 +832,110 @@ public class MarkdownParser {
         }
     }
 
-    // Clase interna para contexto de búsqueda
-    private static class SearchContext {
-        final String code;
-        final String language;
+    // Estrategia predefinida: delega en los métodos del parser
+    private static final class Builtin implements PathStrategy {
+        private final String name;
+        private final int priority;
+        private final int cost;
+        private final String language;
+        private final Predicate<PathContext> guard;
+        private final Function<PathContext, String> finder;
+
+        Builtin(String name, int priority, int cost, String language,
+                Predicate<PathContext> guard, Function<PathContext, String> finder) {
+            this.name = name;
+            this.priority = priority;
+            this.cost = cost;
+            this.language = language;
+            this.guard = guard;
+            this.finder = finder;
+        }
+
+        @Override public String name() { return name; }
+        @Override public int priority() { return priority; }
+        @Override public int cost() { return cost; }
+
+        @Override
+        public boolean appliesTo(String blockLanguage) {
+            return language == null || language.equals(blockLanguage);
+        }
+
+        @Override
+        public boolean mayMatch(PathContext context) {
+            return guard.test(context);
+        }
+
+        @Override
+        public String find(PathContext context) {
+            return finder.apply(context);
+        }
+    }
+
+    // Fase y sección vigentes en un punto del documento (null = heredada)
+    private static class ScanState {
+        static final ScanState INITIAL = new ScanState("Inicio", "");
+        static final ScanState UNKNOWN = new ScanState(null, null);
+
+        final String phase;
         final String section;
-        final String previousLine;
-        final String previousNonEmptyLine;
-        final String linesBefore;
 
-        SearchContext(String code, String language, String section, 
-                     String previousLine, String previousNonEmptyLine, String linesBefore) {
-            this.code = code;
-            this.language = language;
+        ScanState(String phase, String section) {
+            this.phase = phase;
             this.section = section;
-            this.previousLine = previousLine;
-            this.previousNonEmptyLine = previousNonEmptyLine;
-            this.linesBefore = linesBefore;
         }
+
+        ScanState followedBy(ScanState next) {
+            return new ScanState(
+                next.phase != null ? next.phase : phase,
+                next.section != null ? next.section : section);
+        }
+    }
+
+    /**
+     * Incidencia detectada al parsear (por ahora, bloques sin cerrar).
+     */
+    public static final class Problem {
+        private final String source;
+        private final int line;
+        private final String message;
+
+        Problem(String source, int line, String message) {
+            this.source = source;
+            this.line = line;
+            this.message = message;
+        }
+
+        public String getSource() { return source; }
+        public int getLine() { return line; }
+        public String getMessage() { return message; }
+
+        @Override
+        public String toString() {
+            return (source != null ? source : "guía") + ":" + line + ": " + message;
+        }
+    }
+
+    /**
+     * Incidencias del último parseo, ordenadas por archivo y línea.
+     */
+    public List<Problem> getProblems() {
+        List<Problem> sorted;
+        synchronized (problems) {
+            sorted = new ArrayList<>(problems);
+        }
+        sorted.sort(Comparator.comparing((Problem p) -> p.source != null ? p.source : "")
+                .thenComparingInt(p -> p.line));
+        return sorted;
     }
 
     /**
      * Obtiene estadísticas del parsing.
      */
     public ParseStats getStats(List<CodeBlock> blocks) {
-        int javaFiles = 0;
-        int testFiles = 0;
-        int configFiles = 0;
-        int otherFiles = 0;
-        int totalLines = 0;
-
+        ParseStats.Counter counter = new ParseStats.Counter();
         for (CodeBlock block : blocks) {
-            String path = block.getFilePath();
-            totalLines += block.getContent().split("\n").length;
-            
-            if (path.endsWith(".java")) {
-                javaFiles++;
-                if (path.contains("/test/")) {
-                    testFiles++;
-                }
-            } else if (path.endsWith(".xml") || path.endsWith(".yml") || 
-                       path.endsWith(".yaml") || path.endsWith(".properties")) {
-                configFiles++;
-            } else {
-                otherFiles++;
-            }
+            counter.add(block);
         }
-
-        return new ParseStats(blocks.size(), javaFiles, testFiles, configFiles, otherFiles, totalLines);
+        return counter.build();
     }
 }
\ No newline at end of file
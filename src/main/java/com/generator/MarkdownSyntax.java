@@ -0,0 +1,97 @@
+// src/main/java/com/generator/MarkdownSyntax.java
+
+package com.generator;
+
+/**
+ * Primitivas de bajo nivel para reconocer la sintaxis Markdown (CommonMark)
+ * sobre rangos de un texto, sin crear subcadenas.
+ */
+final class MarkdownSyntax {
+
+    static final int MAX_FENCE_INDENT = 3;
+
+    private MarkdownSyntax() {
+    }
+
+    /**
+     * Número de espacios iniciales; un tabulador cuenta como sangría de bloque indentado.
+     */
+    static int indentOf(String text, int from, int to) {
+        int i = from;
+        while (i < to) {
+            char c = text.charAt(i);
+            if (c == ' ') {
+                i++;
+            } else if (c == '\t') {
+                return MAX_FENCE_INDENT + 1;
+            } else {
+                break;
+            }
+        }
+        return i - from;
+    }
+
+    static int runLength(String text, int from, int to, char c) {
+        int i = from;
+        while (i < to && text.charAt(i) == c) i++;
+        return i - from;
+    }
+
+    static boolean containsChar(String text, int from, int to, char c) {
+        for (int i = from; i < to; i++) {
+            if (text.charAt(i) == c) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Longitud de la valla de apertura que empieza en {@code first}, o 0 si no es una.
+     * La info de un bloque con ``` no puede contener acentos graves.
+     */
+    static int openingFenceLength(String text, int first, int end, int indent) {
+        if (indent > MAX_FENCE_INDENT || first >= end) return 0;
+        char c = text.charAt(first);
+        if (c != '`' && c != '~') return 0;
+        int run = runLength(text, first, end, c);
+        if (run < 3) return 0;
+        if (c == '`' && containsChar(text, first + run, end, '`')) return 0;
+        return run;
+    }
+
+    static boolean isClosingFence(String text, int first, int end, int indent,
+                                  char fenceChar, int fenceLength) {
+        if (indent > MAX_FENCE_INDENT || first >= end || text.charAt(first) != fenceChar) {
+            return false;
+        }
+        int run = runLength(text, first, end, fenceChar);
+        if (run < fenceLength) return false;
+        for (int i = first + run; i < end; i++) {
+            char c = text.charAt(i);
+            if (c != ' ' && c != '\t') return false;
+        }
+        return true;
+    }
+
+    /**
+     * Comprueba si en la posición hay un título de exactamente {@code level} '#' seguido de espacio.
+     */
+    static boolean startsWithHeading(String text, int first, int end, int level) {
+        if (first + level >= end) return false;
+        for (int i = 0; i < level; i++) {
+            if (text.charAt(first + i) != '#') return false;
+        }
+        return text.charAt(first + level) == ' ';
+    }
+
+    /**
+     * Fin de la línea sin el salto ni un posible '\r' final.
+     */
+    static int textEnd(String text, int lineStart, int lineEnd) {
+        return (lineEnd > lineStart && text.charAt(lineEnd - 1) == '\r') ? lineEnd - 1 : lineEnd;
+    }
+
+    static int lineEnd(String text, int lineStart) {
+        int end = text.indexOf('\n', lineStart);
+        return end < 0 ? text.length() : end;
+    }
+}
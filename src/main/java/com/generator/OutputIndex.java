@@ -0,0 +1,201 @@
+// src/main/java/com/generator/OutputIndex.java
+
+package com.generator;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice en memoria del directorio de salida: qué archivos hay y su tamaño.
+ *
+ * Se carga con un único recorrido del directorio y el generador lo actualiza
+ * en cada escritura o borrado, así que comprobar si un archivo ya existe no
+ * toca el disco. El hash del contenido se calcula la primera vez que se pide
+ * y se conserva mientras el archivo no cambie. Los cambios hechos por fuera
+ * del generador solo se ven tras {@link #refresh()}.
+ */
+public class OutputIndex {
+
+    private final Path root;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Un archivo del índice. {@code modified} es -1 si lo escribió el
+     * generador y aún no se ha vuelto a leer su fecha.
+     */
+    private static final class Entry {
+        final long size;
+        final long modified;
+        volatile String hash;
+
+        Entry(long size, long modified) {
+            this.size = size;
+            this.modified = modified;
+        }
+    }
+
+    private OutputIndex(Path root) {
+        this.root = root;
+    }
+
+    /**
+     * Recorre el directorio una vez; si no existe, el índice empieza vacío.
+     */
+    public static OutputIndex load(Path root) throws IOException {
+        OutputIndex index = new OutputIndex(root);
+        index.entries.putAll(index.walk());
+        return index;
+    }
+
+    public boolean exists(String relativePath) {
+        return relativePath != null && entries.containsKey(key(relativePath));
+    }
+
+    /**
+     * Tamaño en bytes, o -1 si el archivo no está en el índice.
+     */
+    public long size(String relativePath) {
+        Entry entry = relativePath != null ? entries.get(key(relativePath)) : null;
+        return entry != null ? entry.size : -1;
+    }
+
+    /**
+     * SHA-256 del contenido en disco (leído solo la primera vez), o null si no existe.
+     */
+    public String hash(String relativePath) throws IOException {
+        Entry entry = relativePath != null ? entries.get(key(relativePath)) : null;
+        if (entry == null) return null;
+        String hash = entry.hash;
+        if (hash == null) {
+            MessageDigest digest = sha256();
+            try (InputStream in = Files.newInputStream(root.resolve(key(relativePath)))) {
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = in.read(buffer)) > 0) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+            hash = toHex(digest.digest());
+            entry.hash = hash;
+        }
+        return hash;
+    }
+
+    /**
+     * Si el archivo en disco tiene exactamente este contenido. Si el tamaño
+     * no coincide se responde sin leer el archivo.
+     */
+    public boolean matches(String relativePath, String content) throws IOException {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        if (size(relativePath) != bytes.length) return false;
+        return toHex(sha256().digest(bytes)).equals(hash(relativePath));
+    }
+
+    /**
+     * Anota un archivo que acaba de escribir el generador.
+     */
+    public void recordWrite(String relativePath, long size) {
+        entries.put(key(relativePath), new Entry(size, -1));
+    }
+
+    public void recordDelete(String relativePath) {
+        entries.remove(key(relativePath));
+    }
+
+    /**
+     * Vuelve a recorrer el directorio para ver los cambios hechos por fuera.
+     * Los archivos sin cambios de tamaño ni fecha conservan su hash.
+     *
+     * @return archivos añadidos, borrados o modificados desde el último recorrido
+     */
+    public int refresh() throws IOException {
+        Map<String, Entry> current = walk();
+        int changes = 0;
+        for (Map.Entry<String, Entry> scanned : current.entrySet()) {
+            Entry previous = entries.get(scanned.getKey());
+            Entry entry = scanned.getValue();
+            if (previous == null) {
+                changes++;
+            } else if (previous.size == entry.size && previous.modified == entry.modified) {
+                entry.hash = previous.hash;
+            } else if (previous.modified >= 0) {
+                changes++;
+            }
+        }
+        for (String path : entries.keySet()) {
+            if (!current.containsKey(path)) changes++;
+        }
+        entries.keySet().retainAll(current.keySet());
+        entries.putAll(current);
+        return changes;
+    }
+
+    public int getFileCount() {
+        return entries.size();
+    }
+
+    private Map<String, Entry> walk() throws IOException {
+        Map<String, Entry> found = new HashMap<>();
+        if (!Files.isDirectory(root)) {
+            return found;
+        }
+        Files.walkFileTree(root, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                if (attributes.isRegularFile()) {
+                    found.put(relative(file), new Entry(attributes.size(), attributes.lastModifiedTime().toMillis()));
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) {
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return found;
+    }
+
+    private String relative(Path file) {
+        return root.relativize(file).toString().replace(File.separatorChar, '/');
+    }
+
+    // Misma forma que las claves del recorrido: sin "./" ni separadores de Windows
+    private static String key(String relativePath) {
+        // Las rutas de los bloques ya suelen venir así; normalizar crea varios objetos por consulta
+        if (relativePath.indexOf('\\') < 0 && !relativePath.startsWith("/")
+                && !relativePath.contains("//") && !relativePath.contains("./")) {
+            return relativePath;
+        }
+        return Paths.get(relativePath).normalize().toString().replace(File.separatorChar, '/');
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    private static String toHex(byte[] hash) {
+        StringBuilder hex = new StringBuilder(hash.length * 2);
+        for (byte b : hash) {
+            hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return hex.toString();
+    }
+}
@@ -31,6 +31,56 @@ public class ParseStats {
     public int getOtherFiles() { return otherFiles; }
     public int getTotalLines() { return totalLines; }
 
+    /**
+     * Acumula las estadísticas bloque a bloque, para listados en streaming.
+     */
+    public static final class Counter {
+        private int totalBlocks;
+        private int javaFiles;
+        private int testFiles;
+        private int configFiles;
+        private int otherFiles;
+        private int totalLines;
+
+        public void add(CodeBlock block) {
+            String path = block.getFilePath();
+            totalBlocks++;
+            totalLines += lineCount(block.getContent());
+
+            if (path.endsWith(".java")) {
+                javaFiles++;
+                if (path.contains("/test/")) {
+                    testFiles++;
+                }
+            } else if (path.endsWith(".xml") || path.endsWith(".yml") ||
+                       path.endsWith(".yaml") || path.endsWith(".properties")) {
+                configFiles++;
+            } else {
+                otherFiles++;
+            }
+        }
+
+        public ParseStats build() {
+            return new ParseStats(totalBlocks, javaFiles, testFiles, configFiles, otherFiles, totalLines);
+        }
+    }
+
+    /**
+     * Líneas de un contenido con la misma cuenta que {@code content.split("\n").length}
+     * (sin contar saltos finales), pero sin crear las subcadenas.
+     */
+    public static int lineCount(String content) {
+        if (content.isEmpty()) return 1;
+        int end = content.length();
+        while (end > 0 && content.charAt(end - 1) == '\n') end--;
+        if (end == 0) return 0;
+        int lines = 1;
+        for (int i = 0; i < end; i++) {
+            if (content.charAt(i) == '\n') lines++;
+        }
+        return lines;
+    }
+
     @Override
     public String toString() {
         return String.format(
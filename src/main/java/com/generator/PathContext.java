@@ -0,0 +1,32 @@
+// src/main/java/com/generator/PathContext.java
+
+package com.generator;
+
+/**
+ * Datos de un bloque disponibles para deducir su ruta. Las regiones de texto
+ * (info, sección y líneas previas) ya vienen recortadas por {@link ScanLimits}.
+ */
+public final class PathContext {
+
+    private final String code;
+    private final String language;
+    private final String infoString;
+    private final String section;
+    private final String linesBefore;
+
+    PathContext(String code, String language, String infoString, String section, String linesBefore) {
+        this.code = code;
+        this.language = language;
+        this.infoString = infoString;
+        this.section = section;
+        this.linesBefore = linesBefore;
+    }
+
+    public String getCode() { return code; }
+    public String getLanguage() { return language; }
+    /** Texto de la línea de apertura tras el lenguaje. */
+    public String getInfoString() { return infoString; }
+    public String getSection() { return section; }
+    /** Líneas anteriores a la apertura del bloque. */
+    public String getLinesBefore() { return linesBefore; }
+}
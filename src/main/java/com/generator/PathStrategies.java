@@ -0,0 +1,163 @@
+// src/main/java/com/generator/PathStrategies.java
+
+package com.generator;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Cadena de estrategias de deducción de rutas, en orden canónico de prioridad.
+ *
+ * En modo canónico se evalúan por prioridad y gana la primera que encuentra
+ * una ruta. En modo adaptativo se reordenan cada {@link #REORDER_INTERVAL}
+ * bloques por aciertos por unidad de coste. El resultado no cambia: tras un
+ * acierto se siguen evaluando las estrategias de mayor prioridad aún no
+ * probadas (solo esas) y, si alguna encuentra otra ruta, gana la de menor
+ * prioridad, como en el orden canónico.
+ *
+ * En ambos modos se cuentan intentos, aciertos y llamadas a
+ * {@link PathStrategy#find}, de modo que {@link #report()} permite comparar
+ * lo que cuesta cada orden con la misma guía.
+ *
+ * Es segura para los parseos de capítulos en paralelo: los contadores son
+ * atómicos y el orden aprendido se publica como un array inmutable.
+ */
+public class PathStrategies {
+
+    private static final int REORDER_INTERVAL = 32;
+
+    private final PathStrategy[] strategies;
+    private final boolean adaptive;
+    private final AtomicLongArray attempts;
+    private final AtomicLongArray hits;
+    private final AtomicLong finds = new AtomicLong();
+    private final AtomicLong resolved = new AtomicLong();
+    private volatile int[] order;
+
+    /**
+     * Resultado de una deducción: la ruta y la estrategia que la encontró.
+     */
+    static final class Match {
+        final PathStrategy strategy;
+        final String path;
+
+        Match(PathStrategy strategy, String path) {
+            this.strategy = strategy;
+            this.path = path;
+        }
+    }
+
+    PathStrategies(List<PathStrategy> builtins, boolean adaptive) {
+        List<PathStrategy> all = new ArrayList<>(builtins);
+        all.addAll(Discovered.STRATEGIES);
+        // Orden estable: a igual prioridad, las predefinidas primero
+        all.sort(Comparator.comparingInt(PathStrategy::priority));
+
+        this.strategies = all.toArray(new PathStrategy[0]);
+        this.adaptive = adaptive;
+        this.attempts = new AtomicLongArray(strategies.length);
+        this.hits = new AtomicLongArray(strategies.length);
+
+        int[] canonical = new int[strategies.length];
+        for (int i = 0; i < canonical.length; i++) canonical[i] = i;
+        this.order = canonical;
+    }
+
+    /**
+     * Estrategias registradas en META-INF/services, cargadas una vez por JVM.
+     */
+    private static final class Discovered {
+        static final List<PathStrategy> STRATEGIES = load();
+
+        private static List<PathStrategy> load() {
+            List<PathStrategy> loaded = new ArrayList<>();
+            for (PathStrategy strategy : ServiceLoader.load(PathStrategy.class, PathStrategy.class.getClassLoader())) {
+                loaded.add(strategy);
+            }
+            return loaded;
+        }
+    }
+
+    Match resolve(PathContext context) {
+        int[] current = order;
+        Match best = null;
+        int bestRank = strategies.length;
+
+        for (int rank : current) {
+            // Una estrategia de menor prioridad que la ganadora ya no puede cambiar el resultado
+            if (rank >= bestRank) continue;
+
+            PathStrategy strategy = strategies[rank];
+            if (!strategy.appliesTo(context.getLanguage())) continue;
+
+            attempts.incrementAndGet(rank);
+            if (!strategy.mayMatch(context)) continue;
+
+            finds.incrementAndGet();
+            String path = strategy.find(context);
+            if (path != null) {
+                hits.incrementAndGet(rank);
+                best = new Match(strategy, path);
+                bestRank = rank;
+                if (!adaptive) break;
+            }
+        }
+
+        if (adaptive && resolved.incrementAndGet() % REORDER_INTERVAL == 0) {
+            reorder();
+        }
+        return best;
+    }
+
+    private void reorder() {
+        List<Integer> ranks = new ArrayList<>();
+        for (int i = 0; i < strategies.length; i++) ranks.add(i);
+        ranks.sort(Comparator.comparingDouble((Integer rank) -> -score(rank)).thenComparingInt(rank -> rank));
+        order = ranks.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private double score(int rank) {
+        long tried = attempts.get(rank);
+        double hitRate = tried == 0 ? 0 : (double) hits.get(rank) / tried;
+        return hitRate / Math.max(1, strategies[rank].cost());
+    }
+
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    public int size() {
+        return strategies.length;
+    }
+
+    /**
+     * Llamadas a {@link PathStrategy#find} desde que se creó la cadena.
+     */
+    public long findCalls() {
+        return finds.get();
+    }
+
+    /**
+     * Orden actual con los aciertos de cada estrategia y el total de llamadas
+     * a find(), p. ej. "java 95% (190/200, coste 2) > codigo 3% (6/200, coste 2)
+     * > ... | 412 llamadas a find()".
+     */
+    public String report() {
+        StringBuilder sb = new StringBuilder();
+        for (int rank : order) {
+            if (sb.length() > 0) sb.append(" > ");
+            long tried = attempts.get(rank);
+            long found = hits.get(rank);
+            sb.append(strategies[rank].name()).append(' ')
+                    .append(tried == 0 ? 0 : Math.round(100.0 * found / tried)).append("% (")
+                    .append(found).append('/').append(tried)
+                    .append(", coste ").append(strategies[rank].cost()).append(')');
+        }
+        sb.append(" | ").append(finds.get()).append(" llamadas a find()");
+        return sb.toString();
+    }
+}
@@ -0,0 +1,54 @@
+// src/main/java/com/generator/PathStrategy.java
+
+package com.generator;
+
+/**
+ * Estrategia para deducir la ruta de un bloque de código.
+ *
+ * Las estrategias predefinidas (info del bloque, comentario en el código,
+ * sección, líneas previas, cabecera Java y reglas de configuración) se pueden
+ * ampliar con implementaciones descubiertas mediante {@link java.util.ServiceLoader}:
+ * basta una clase con constructor sin argumentos listada en
+ * {@code META-INF/services/com.generator.PathStrategy}.
+ *
+ * La prioridad fija el orden canónico (menor primero): la ruta de un bloque es
+ * siempre la de la estrategia de menor prioridad que encuentra una, aunque el
+ * modo adaptativo las evalúe en otro orden.
+ */
+public interface PathStrategy {
+
+    /**
+     * Nombre corto para informes y eventos JFR.
+     */
+    String name();
+
+    /**
+     * Posición en el orden canónico. Las predefinidas usan 100, 200... 600.
+     */
+    int priority();
+
+    /**
+     * Coste relativo estimado de {@link #find} (1 = barato). El modo adaptativo
+     * prueba antes las estrategias que más aciertan por unidad de coste.
+     */
+    default int cost() {
+        return 1;
+    }
+
+    default boolean appliesTo(String language) {
+        return true;
+    }
+
+    /**
+     * Condición necesaria y barata para que {@link #find} encuentre algo; si
+     * devuelve false la estrategia se descarta sin ejecutarla.
+     */
+    default boolean mayMatch(PathContext context) {
+        return true;
+    }
+
+    /**
+     * Ruta encontrada o null.
+     */
+    String find(PathContext context);
+}
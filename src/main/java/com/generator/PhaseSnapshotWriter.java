@@ -0,0 +1,175 @@
+// src/main/java/com/generator/PhaseSnapshotWriter.java
+
+package com.generator;
+
+import java.io.IOException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Escribe el estado del proyecto al final de cada fase en un directorio propio
+ * (phase-01, phase-02, ...) en una sola pasada sobre los bloques.
+ *
+ * Cada snapshot contiene la última versión de cada ruta vista hasta esa fase.
+ * Los archivos que no cambiaron respecto al snapshot anterior se enlazan con
+ * un enlace duro en lugar de escribirse de nuevo; si el sistema de archivos no
+ * admite enlaces duros se copian.
+ */
+public class PhaseSnapshotWriter {
+
+    private final Path outputDirectory;
+    private final List<CodeBlock> blocks;
+    // Segmentos del README ya instanciados; null = leer la guía
+    private List<String> readmeSegments;
+
+    private int filesWritten = 0;
+    private int filesLinked = 0;
+    private int filesCopied = 0;
+
+    public PhaseSnapshotWriter(Path outputDirectory, List<CodeBlock> blocks) {
+        this.outputDirectory = outputDirectory;
+        this.blocks = blocks;
+    }
+
+    public void setReadmeSegments(List<String> readmeSegments) {
+        this.readmeSegments = readmeSegments;
+    }
+
+    /**
+     * Fase con los bloques que aparecen en ella, en orden de documento.
+     */
+    static final class Phase {
+        final String name;
+        /** Número de la fase en la guía completa, aunque un filtro deje fuera fases anteriores. */
+        final int ordinal;
+        final List<CodeBlock> blocks = new ArrayList<>();
+
+        Phase(String name, int ordinal) {
+            this.name = name;
+            this.ordinal = ordinal;
+        }
+    }
+
+    /**
+     * Agrupa los bloques en fases consecutivas según {@link CodeBlock#getPhase()}.
+     */
+    static List<Phase> splitPhases(List<CodeBlock> blocks) {
+        List<Phase> phases = new ArrayList<>();
+        Phase current = null;
+        for (CodeBlock block : blocks) {
+            boolean samePhase = current != null && current.name.equals(block.getPhase())
+                    && (block.getPhaseOrdinal() == 0 || current.ordinal == block.getPhaseOrdinal());
+            if (!samePhase) {
+                int ordinal = block.getPhaseOrdinal() > 0 ? block.getPhaseOrdinal() : phases.size() + 1;
+                current = new Phase(block.getPhase(), ordinal);
+                phases.add(current);
+            }
+            current.blocks.add(block);
+        }
+        return phases;
+    }
+
+    /**
+     * Genera todos los snapshots. Devuelve los directorios creados, en orden.
+     */
+    public List<Path> writeAll(Path sourceMarkdownFile, boolean withReadme) throws IOException {
+        List<Phase> phases = splitPhases(blocks);
+        List<Path> snapshots = new ArrayList<>();
+
+        // Contenido final de cada ruta hasta la fase actual
+        Map<String, String> state = new LinkedHashMap<>();
+        Path previousDir = null;
+
+        for (int p = 0; p < phases.size(); p++) {
+            Phase phase = phases.get(p);
+            Path snapshotDir = outputDirectory.resolve(String.format("phase-%02d", phase.ordinal));
+            ProjectGenerator generator = new ProjectGenerator(snapshotDir, phase.blocks);
+            generator.setReadmeSegments(readmeSegments);
+            generator.generateProjectStructure();
+
+            // Rutas cuyo contenido final en esta fase (gana el último bloque) difiere
+            // del que tenían al empezarla
+            Map<String, String> before = new HashMap<>(state);
+            for (CodeBlock block : phase.blocks) {
+                if (block.getFilePath() == null || block.getFilePath().isEmpty()) continue;
+                state.put(block.getFilePath(), generator.prepareContent(block));
+            }
+            Set<String> changed = new HashSet<>();
+            for (CodeBlock block : phase.blocks) {
+                String path = block.getFilePath();
+                if (path != null && !path.isEmpty() && !state.get(path).equals(before.get(path))) {
+                    changed.add(path);
+                }
+            }
+
+            int written = 0;
+            int reused = 0;
+            for (Map.Entry<String, String> entry : state.entrySet()) {
+                Path target = generator.resolveInside(entry.getKey());
+                if (changed.contains(entry.getKey()) || previousDir == null) {
+                    write(target, entry.getValue());
+                    written++;
+                } else {
+                    link(previousDir.resolve(entry.getKey()), target);
+                    reused++;
+                }
+            }
+
+            if (withReadme) {
+                if (previousDir == null) {
+                    generator.generateReadme(sourceMarkdownFile);
+                } else {
+                    link(previousDir.resolve("README.md"), snapshotDir.resolve("README.md"));
+                }
+            }
+
+            ConsoleUtils.printInfo(String.format("%s  %-40s escritos: %d | reutilizados: %d",
+                    snapshotDir.getFileName(), phase.name, written, reused));
+
+            snapshots.add(snapshotDir);
+            previousDir = snapshotDir;
+        }
+
+        return snapshots;
+    }
+
+    private void write(Path target, String content) throws IOException {
+        Files.createDirectories(target.getParent());
+        // Nunca truncar: el archivo existente puede ser un enlace a otro snapshot
+        Files.deleteIfExists(target);
+        Files.writeString(target, content, StandardOpenOption.CREATE_NEW);
+        filesWritten++;
+    }
+
+    private void link(Path existing, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        Files.deleteIfExists(target);
+        try {
+            Files.createLink(target, existing);
+            filesLinked++;
+        } catch (UnsupportedOperationException | FileSystemException e) {
+            Files.copy(existing, target, StandardCopyOption.REPLACE_EXISTING);
+            filesCopied++;
+        }
+    }
+
+    public int getFilesWritten() { return filesWritten; }
+    public int getFilesLinked() { return filesLinked; }
+    public int getFilesCopied() { return filesCopied; }
+
+    @Override
+    public String toString() {
+        return String.format("Escritos: %d | Enlazados: %d | Copiados: %d",
+                filesWritten, filesLinked, filesCopied);
+    }
+}
@@ -2,10 +2,15 @@
 
 package com.generator;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.Writer;
 import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.List;
 
 public class ProjectGenerator {
@@ -14,12 +19,25 @@ public class ProjectGenerator {
     private final List<CodeBlock> blocks;
     private int filesCreated = 0;
     private int directoriesCreated = 0;
+    private ContentPipeline contentPipeline = ContentPipeline.getDefault();
+    // Contenido del README ya preparado (p. ej. con variables sustituidas); null = leer la guía
+    private List<String> readmeSegments;
+    // Archivos ya presentes en la salida; se carga al primer uso y se mantiene con cada escritura
+    private OutputIndex outputIndex;
 
     public ProjectGenerator(Path outputDirectory, List<CodeBlock> blocks) {
         this.outputDirectory = outputDirectory;
         this.blocks = blocks;
     }
 
+    public void setContentPipeline(ContentPipeline contentPipeline) {
+        this.contentPipeline = contentPipeline;
+    }
+
+    public void setReadmeSegments(List<String> readmeSegments) {
+        this.readmeSegments = readmeSegments;
+    }
+
     public GenerationResult generateAll() throws IOException {
         for (CodeBlock block : blocks) {
             generateFile(block);
@@ -36,10 +54,14 @@ public class ProjectGenerator {
 
     public void generateFile(CodeBlock block) throws IOException {
         if (block.getFilePath() == null || block.getFilePath().isEmpty()) {
+            GeneratorEvents.fileSkipped(block.getFilePath());
             return;
         }
 
-        Path filePath = outputDirectory.resolve(block.getFilePath());
+        GeneratorEvents.FileWrite event = new GeneratorEvents.FileWrite();
+        event.begin();
+
+        Path filePath = resolveInside(block.getFilePath());
 
         Path parentDir = filePath.getParent();
         if (parentDir != null && !Files.exists(parentDir)) {
@@ -47,17 +69,30 @@ public class ProjectGenerator {
             directoriesCreated++;
         }
 
-        String contentToWrite = prepareContent(block);
-
-        Files.writeString(filePath, contentToWrite,
-                StandardOpenOption.CREATE,
-                StandardOpenOption.TRUNCATE_EXISTING);
+        // Las transformaciones se codifican en streaming sobre los buffers del hilo
+        ChannelFileWriter writer = ChannelFileWriter.open(filePath, block.getContentLength());
+        try (writer) {
+            contentPipeline.writeTo(block, writer);
+        }
 
         filesCreated++;
+        if (outputIndex != null) {
+            outputIndex.recordWrite(block.getFilePath(), writer.getBytesWritten());
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.path = block.getFilePath();
+            event.bytes = writer.getBytesWritten();
+            event.written = true;
+            event.commit();
+        }
     }
 
     /**
      * Genera el archivo README.md con el contenido de la guía original.
+     * Si la guía incluye capítulos, se escriben uno tras otro en streaming
+     * sin concatenarlos en memoria.
      */
     public void generateReadme(Path sourceMarkdownFile) throws IOException {
         // Verificar que el archivo fuente existe
@@ -65,8 +100,32 @@ public class ProjectGenerator {
             throw new IOException("Archivo fuente no encontrado: " + sourceMarkdownFile);
         }
 
-        // Leer contenido
-        String content = Files.readString(sourceMarkdownFile);
+        if (readmeSegments != null) {
+            generateReadme(sourceMarkdownFile, readmeSegments);
+            return;
+        }
+
+        generateReadme(sourceMarkdownFile, readSegments(sourceMarkdownFile));
+    }
+
+    /**
+     * Contenido de la guía y sus capítulos incluidos, en orden.
+     */
+    static List<String> readSegments(Path sourceMarkdownFile) throws IOException {
+        List<String> segments = new ArrayList<>();
+        for (GuideAssembler.Segment segment : GuideAssembler.assemble(sourceMarkdownFile)) {
+            segments.add(segment.getContent());
+        }
+        return segments;
+    }
+
+    /**
+     * Genera el README.md a partir de los segmentos ya leídos (por ejemplo,
+     * con las variables de plantilla sustituidas).
+     */
+    public void generateReadme(Path sourceMarkdownFile, List<String> segments) throws IOException {
+        GeneratorEvents.Readme event = new GeneratorEvents.Readme();
+        event.begin();
 
         // Crear el README
         Path readmePath = outputDirectory.resolve("README.md");
@@ -76,6 +135,36 @@ public class ProjectGenerator {
             Files.createDirectories(outputDirectory);
         }
 
+        try (BufferedWriter writer = Files.newBufferedWriter(readmePath,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeReadme(sourceMarkdownFile, segments, writer);
+        }
+
+        filesCreated++;
+        if (outputIndex != null) {
+            outputIndex.recordWrite("README.md", Files.size(readmePath));
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.path = readmePath.toString();
+            event.bytes = Files.size(readmePath);
+            event.segments = segments.size();
+            event.commit();
+        }
+
+        // Debug: confirmar que se creó
+        if (Files.exists(readmePath)) {
+            System.out.println("  [DEBUG] README.md creado en: " + readmePath.toAbsolutePath());
+            System.out.println("  [DEBUG] Tamaño: " + Files.size(readmePath) + " bytes");
+        }
+    }
+
+    /**
+     * Escribe la cabecera y los segmentos de la guía en streaming.
+     */
+    static void writeReadme(Path sourceMarkdownFile, List<String> segments, Writer writer) throws IOException {
         String fileName = sourceMarkdownFile.getFileName().toString();
 
         StringBuilder header = new StringBuilder();
@@ -86,22 +175,18 @@ public class ProjectGenerator {
         header.append("  ╚═══════════════════════════════════════════════════════════════════╝\n");
         header.append("-->\n\n");
 
-        String fullContent = header.toString() + content;
-
-        Files.writeString(readmePath, fullContent,
-                StandardOpenOption.CREATE,
-                StandardOpenOption.TRUNCATE_EXISTING);
-
-        filesCreated++;
-
-        // Debug: confirmar que se creó
-        if (Files.exists(readmePath)) {
-            System.out.println("  [DEBUG] README.md creado en: " + readmePath.toAbsolutePath());
-            System.out.println("  [DEBUG] Tamaño: " + Files.size(readmePath) + " bytes");
+        writer.write(header.toString());
+        for (int i = 0; i < segments.size(); i++) {
+            String content = segments.get(i);
+            writer.write(content);
+            // Evitar que el final de un capítulo se pegue al siguiente
+            if (i < segments.size() - 1 && !content.isEmpty() && !content.endsWith("\n")) {
+                writer.write('\n');
+            }
         }
     }
 
-    private String padRight(String text, int length) {
+    private static String padRight(String text, int length) {
         if (text == null) text = "";
         if (text.length() >= length) {
             return text.substring(0, length);
@@ -113,39 +198,14 @@ public class ProjectGenerator {
         return sb.toString();
     }
 
-    private String prepareContent(CodeBlock block) {
-        String content = block.getContent();
-        String filePath = block.getFilePath();
-
-        if (filePath.endsWith(".java")) {
-            content = ensurePackageStatement(filePath, content);
-        }
-
-        if (filePath.endsWith(".xml") && !content.trim().startsWith("<?xml") &&
-                !content.trim().startsWith("<project")) {
-            if (content.contains("<beans") || content.contains("<configuration")) {
-                content = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" + content;
-            }
-        }
-
-        return content;
-    }
-
-    private String ensurePackageStatement(String filePath, String content) {
-        if (content.trim().startsWith("package ")) {
-            return content;
-        }
-
-        String packageName = extractPackageFromPath(filePath);
-
-        if (packageName != null && !packageName.isEmpty()) {
-            return "package " + packageName + ";\n\n" + content;
-        }
-
-        return content;
+    /**
+     * Contenido que se escribiría para el bloque, como cadena.
+     */
+    String prepareContent(CodeBlock block) {
+        return contentPipeline.render(block);
     }
 
-    private String extractPackageFromPath(String filePath) {
+    static String extractPackageFromPath(String filePath) {
         int javaIndex = filePath.indexOf("/java/");
         if (javaIndex == -1) return null;
 
@@ -173,19 +233,85 @@ public class ProjectGenerator {
         }
     }
 
+    /**
+     * Elimina un archivo generado previamente. Devuelve true si existía.
+     */
+    public boolean deleteFile(String relativePath) throws IOException {
+        if (relativePath == null || relativePath.isEmpty()) return false;
+        boolean deleted = Files.deleteIfExists(resolveInside(relativePath));
+        if (outputIndex != null) {
+            outputIndex.recordDelete(relativePath);
+        }
+        return deleted;
+    }
+
+    /**
+     * Índice del directorio de salida, cargado con un solo recorrido la primera vez.
+     */
+    public synchronized OutputIndex getOutputIndex() throws IOException {
+        if (outputIndex == null) {
+            outputIndex = OutputIndex.load(outputDirectory);
+        }
+        return outputIndex;
+    }
+
+    /**
+     * Vuelve a leer el directorio de salida para ver cambios externos.
+     *
+     * @return archivos añadidos, borrados o modificados por fuera del generador
+     */
+    public int refreshOutputIndex() throws IOException {
+        return getOutputIndex().refresh();
+    }
+
+    /**
+     * Si el archivo del bloque ya existe, según el índice (sin acceder al disco).
+     */
     public boolean fileExists(CodeBlock block) {
         if (block.getFilePath() == null) return false;
-        return Files.exists(outputDirectory.resolve(block.getFilePath()));
+        try {
+            return getOutputIndex().exists(block.getFilePath());
+        } catch (IOException e) {
+            try {
+                return Files.exists(resolveInside(block.getFilePath()));
+            } catch (IOException outside) {
+                return false;
+            }
+        }
     }
 
     public String getExistingContent(CodeBlock block) throws IOException {
-        if (block.getFilePath() == null) return null;
+        if (!fileExists(block)) return null;
+        return Files.readString(resolveInside(block.getFilePath()));
+    }
 
-        Path filePath = outputDirectory.resolve(block.getFilePath());
-        if (Files.exists(filePath)) {
-            return Files.readString(filePath);
+    /**
+     * Ruta dentro del directorio de salida. Las rutas absolutas o que salen de
+     * él con {@code ..} se rechazan: vienen de la guía, que puede no ser de fiar.
+     */
+    Path resolveInside(String relativePath) throws IOException {
+        Path root = outputDirectory.toAbsolutePath().normalize();
+        Path resolved;
+        try {
+            Path relative = Paths.get(relativePath);
+            if (relative.isAbsolute() || relative.getRoot() != null) {
+                throw new IOException("Ruta absoluta no permitida: " + relativePath);
+            }
+            resolved = root.resolve(relative).normalize();
+        } catch (InvalidPathException e) {
+            throw new IOException("Ruta no valida: " + relativePath, e);
         }
-        return null;
+        if (!resolved.startsWith(root) || resolved.equals(root)) {
+            throw new IOException("Ruta fuera del directorio de salida: " + relativePath);
+        }
+        return resolved;
+    }
+
+    /**
+     * Si el archivo en disco ya tiene el contenido que se generaría para el bloque.
+     */
+    public boolean isUpToDate(CodeBlock block, String preparedContent) throws IOException {
+        return fileExists(block) && getOutputIndex().matches(block.getFilePath(), preparedContent);
     }
 
     public int getFilesCreated() {
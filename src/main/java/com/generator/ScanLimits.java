@@ -0,0 +1,95 @@
+// src/main/java/com/generator/ScanLimits.java
+
+package com.generator;
+
+/**
+ * Límites de las regiones de texto en las que se buscan rutas.
+ *
+ * Las expresiones regulares de búsqueda de rutas solo ven cada línea hasta
+ * {@code maxLineLength} caracteres y, del contexto previo a un bloque, los
+ * últimos {@code maxContextChars}. Así una línea minificada o un título enorme
+ * no convierten la búsqueda en un recorrido de megabytes por bloque: el coste
+ * por bloque queda acotado y el del parseo es lineal en el tamaño de la guía.
+ */
+public final class ScanLimits {
+
+    public static final int DEFAULT_MAX_LINE_LENGTH = 1000;
+    public static final int DEFAULT_MAX_CONTEXT_CHARS = 4000;
+
+    private static final ScanLimits DEFAULTS = new Builder().build();
+
+    private final int maxLineLength;
+    private final int maxContextChars;
+
+    private ScanLimits(Builder builder) {
+        this.maxLineLength = builder.maxLineLength;
+        this.maxContextChars = builder.maxContextChars;
+    }
+
+    public static ScanLimits defaults() {
+        return DEFAULTS;
+    }
+
+    public int getMaxLineLength() { return maxLineLength; }
+    public int getMaxContextChars() { return maxContextChars; }
+
+    /**
+     * Una sola línea (título, info del bloque) recortada a la longitud máxima.
+     */
+    String line(String text) {
+        if (text == null || text.length() <= maxLineLength) return text;
+        return text.substring(0, maxLineLength);
+    }
+
+    /**
+     * Región [from, to) con cada línea recortada, quedándose con los últimos
+     * caracteres si el total supera el máximo (los más cercanos al bloque).
+     */
+    String region(String text, int from, int to) {
+        if (to - from <= maxLineLength && to - from <= maxContextChars) {
+            return text.substring(from, to);
+        }
+
+        StringBuilder sb = new StringBuilder(Math.min(to - from, maxContextChars + maxLineLength));
+        int lineStart = from;
+        while (lineStart < to) {
+            int lineEnd = text.indexOf('\n', lineStart);
+            if (lineEnd < 0 || lineEnd > to) lineEnd = to;
+            sb.append(text, lineStart, Math.min(lineEnd, lineStart + maxLineLength));
+            if (lineEnd < to) sb.append('\n');
+            lineStart = lineEnd + 1;
+        }
+
+        if (sb.length() > maxContextChars) {
+            int cut = sb.length() - maxContextChars;
+            int nextLine = sb.indexOf("\n", cut);
+            sb.delete(0, nextLine >= 0 ? nextLine + 1 : cut);
+        }
+        return sb.toString();
+    }
+
+    public static class Builder {
+        private int maxLineLength = DEFAULT_MAX_LINE_LENGTH;
+        private int maxContextChars = DEFAULT_MAX_CONTEXT_CHARS;
+
+        public Builder maxLineLength(int maxLineLength) {
+            if (maxLineLength < 1) {
+                throw new IllegalArgumentException("La longitud máxima de línea debe ser positiva");
+            }
+            this.maxLineLength = maxLineLength;
+            return this;
+        }
+
+        public Builder maxContextChars(int maxContextChars) {
+            if (maxContextChars < 1) {
+                throw new IllegalArgumentException("El contexto máximo debe ser positivo");
+            }
+            this.maxContextChars = maxContextChars;
+            return this;
+        }
+
+        public ScanLimits build() {
+            return new ScanLimits(this);
+        }
+    }
+}
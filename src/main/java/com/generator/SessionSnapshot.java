@@ -0,0 +1,231 @@
+// src/main/java/com/generator/SessionSnapshot.java
+
+package com.generator;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Instantánea compacta de una sesión interactiva.
+ * Guarda los bloques parseados, los bloques generados y la posición actual
+ * para reanudar sin volver a parsear mientras la guía no cambie.
+ *
+ * El archivo vive en la caché del usuario ({@code $XDG_CACHE_HOME/mdgen/sessions}
+ * o {@code ~/.cache/mdgen/sessions}), con un nombre derivado de la ruta del
+ * directorio de salida: el proyecto generado no contiene nada del generador.
+ */
+public class SessionSnapshot {
+
+    private static final String CACHE_DIRECTORY_PROPERTY = "mdgen.cache.dir";
+    private static final String FILE_EXTENSION = ".session";
+
+    private static final int MAGIC = 0x4D445353;
+    private static final int FORMAT_VERSION = 3;
+
+    private final String guideHash;
+    private final List<CodeBlock> blocks;
+    private final BitSet generatedBlocks;
+    private final int currentIndex;
+    private final boolean readmeGenerated;
+
+    public SessionSnapshot(String guideHash, List<CodeBlock> blocks, BitSet generatedBlocks,
+                           int currentIndex, boolean readmeGenerated) {
+        this.guideHash = guideHash;
+        this.blocks = blocks;
+        this.generatedBlocks = generatedBlocks;
+        this.currentIndex = currentIndex;
+        this.readmeGenerated = readmeGenerated;
+    }
+
+    public String getGuideHash() { return guideHash; }
+    public List<CodeBlock> getBlocks() { return blocks; }
+    public BitSet getGeneratedBlocks() { return generatedBlocks; }
+    public int getCurrentIndex() { return currentIndex; }
+    public boolean isReadmeGenerated() { return readmeGenerated; }
+
+    /**
+     * Calcula el hash SHA-256 del contenido de la guía, incluidos sus capítulos,
+     * y de las opciones que cambian los bloques o lo que se escribe con ellos:
+     * una sesión solo se reanuda si todo coincide.
+     */
+    public static String hashGuide(Path markdownFile, Map<String, String> options) throws IOException {
+        MessageDigest digest = sha256();
+        for (GuideAssembler.Segment segment : GuideAssembler.assemble(markdownFile)) {
+            update(digest, segment.getContent());
+        }
+        for (Map.Entry<String, String> option : new TreeMap<>(options).entrySet()) {
+            update(digest, option.getKey());
+            update(digest, option.getValue());
+        }
+        return toHex(digest.digest());
+    }
+
+    // Con la longitud delante, dos textos distintos no pueden dar la misma secuencia
+    private static void update(MessageDigest digest, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+        digest.update(bytes);
+    }
+
+    /**
+     * Archivo de sesión de un directorio de salida, fuera de él. La propiedad
+     * {@code mdgen.cache.dir} sustituye al directorio de caché.
+     */
+    static Path sessionFile(Path outputDirectory) {
+        String override = System.getProperty(CACHE_DIRECTORY_PROPERTY);
+        Path cache;
+        if (override != null) {
+            cache = Paths.get(override);
+        } else {
+            String xdgCache = System.getenv("XDG_CACHE_HOME");
+            cache = (xdgCache != null && !xdgCache.isEmpty()
+                    ? Paths.get(xdgCache) : Paths.get(System.getProperty("user.home"), ".cache")).resolve("mdgen");
+        }
+        String key = outputDirectory.toAbsolutePath().normalize().toString();
+        String name = toHex(sha256().digest(key.getBytes(StandardCharsets.UTF_8))).substring(0, 32);
+        return cache.resolve("sessions").resolve(name + FILE_EXTENSION);
+    }
+
+    /**
+     * Carga la sesión guardada para el directorio de salida.
+     * Devuelve null si no existe, está corrupta o corresponde a otra versión de la guía.
+     */
+    public static SessionSnapshot load(Path outputDirectory, String guideHash) {
+        Path sessionFile = sessionFile(outputDirectory);
+        if (!Files.isRegularFile(sessionFile)) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(sessionFile)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                return null;
+            }
+            if (!in.readUTF().equals(guideHash)) {
+                return null;
+            }
+
+            int currentIndex = in.readInt();
+            boolean readmeGenerated = in.readBoolean();
+            BitSet generated = BitSet.valueOf(readBytes(in));
+
+            int count = in.readInt();
+            List<CodeBlock> blocks = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                blocks.add(new CodeBlock.Builder()
+                        .order(in.readInt())
+                        .filePath(readString(in))
+                        .language(readString(in))
+                        .phase(readString(in))
+                        .phaseOrdinal(in.readInt())
+                        .description(readString(in))
+                        .content(readString(in))
+                        .source(readString(in), in.readInt())
+                        .build());
+            }
+
+            if (currentIndex < 0 || currentIndex >= Math.max(1, count)) {
+                currentIndex = 0;
+            }
+            return new SessionSnapshot(guideHash, blocks, generated, currentIndex, readmeGenerated);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Guarda de forma atómica la sesión del directorio de salida.
+     */
+    public void save(Path outputDirectory) throws IOException {
+        Path sessionFile = sessionFile(outputDirectory);
+        Files.createDirectories(sessionFile.getParent());
+        Path tempFile = sessionFile.resolveSibling(sessionFile.getFileName() + ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeUTF(guideHash);
+            out.writeInt(currentIndex);
+            out.writeBoolean(readmeGenerated);
+            writeBytes(out, generatedBlocks.toByteArray());
+
+            out.writeInt(blocks.size());
+            for (CodeBlock block : blocks) {
+                out.writeInt(block.getOrder());
+                writeString(out, block.getFilePath());
+                writeString(out, block.getLanguage());
+                writeString(out, block.getPhase());
+                out.writeInt(block.getPhaseOrdinal());
+                writeString(out, block.getDescription());
+                writeString(out, block.getContent());
+                writeString(out, block.getSourceFile());
+                out.writeInt(block.getSourceLine());
+            }
+        }
+
+        Files.move(tempFile, sessionFile,
+                StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    private static String toHex(byte[] hash) {
+        StringBuilder hex = new StringBuilder(hash.length * 2);
+        for (byte b : hash) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        writeBytes(out, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = readBytes(in);
+        return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,309 @@
+// src/main/java/com/generator/SymbolIndex.java
+
+package com.generator;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Índice de símbolos entre bloques Java.
+ *
+ * Asigna un identificador entero a cada tipo declarado en la guía (nombre
+ * completo) y guarda, para cada bloque, los tipos de la guía que usa (imports y
+ * referencias a tipos del mismo paquete o de paquetes importados con '*') en
+ * arrays de adyacencia compactos. Las consultas por nombre son O(1) y el
+ * cierre de dependencias es lineal en el tamaño del subgrafo visitado.
+ */
+public final class SymbolIndex {
+
+    private static final int NO_TYPE = -1;
+
+    private final List<CodeBlock> blocks;
+
+    // Tipo -> identificador y su inversa
+    private final Map<String, Integer> typeIds = new HashMap<>();
+    private final List<String> typeNames = new ArrayList<>();
+    // Nombre simple -> tipos con ese nombre (en cualquier paquete)
+    private final Map<String, List<Integer>> typesBySimpleName = new HashMap<>();
+
+    // Por tipo: bloque que lo define (la última versión)
+    private int[] definingBlock;
+    // Por bloque: tipo declarado o NO_TYPE
+    private final int[] declaredType;
+    // Por bloque: tipos usados, en formato CSR (dependencyTargets[offsets[b] .. offsets[b + 1]])
+    private int[] dependencyOffsets;
+    private int[] dependencyTargets;
+
+    private final List<MissingType> missingTypes = new ArrayList<>();
+
+    private SymbolIndex(List<CodeBlock> blocks) {
+        this.blocks = blocks;
+        this.declaredType = new int[blocks.size()];
+    }
+
+    /**
+     * Import de un paquete de la guía cuyo tipo no declara ningún bloque.
+     */
+    public static final class MissingType {
+        private final CodeBlock block;
+        private final String typeName;
+
+        MissingType(CodeBlock block, String typeName) {
+            this.block = block;
+            this.typeName = typeName;
+        }
+
+        public CodeBlock getBlock() { return block; }
+        public String getTypeName() { return typeName; }
+
+        @Override
+        public String toString() {
+            return String.format("[%d] %s: falta %s", block.getOrder(), block.getFilePath(), typeName);
+        }
+    }
+
+    public static SymbolIndex build(List<CodeBlock> blocks) {
+        SymbolIndex index = new SymbolIndex(blocks);
+        index.index();
+        return index;
+    }
+
+    private void index() {
+        int count = blocks.size();
+        JavaHeaderLexer.Header[] headers = new JavaHeaderLexer.Header[count];
+        String[] packages = new String[count];
+        Set<String> guidePackages = new HashSet<>();
+
+        // Primera pasada: tipos declarados
+        List<Integer> definitions = new ArrayList<>();
+        for (int b = 0; b < count; b++) {
+            declaredType[b] = NO_TYPE;
+            CodeBlock block = blocks.get(b);
+            if (!isJava(block)) continue;
+
+            JavaHeaderLexer.Header header = JavaHeaderLexer.scan(block.getContent());
+            headers[b] = header;
+            packages[b] = header.getPackageName() != null
+                    ? header.getPackageName()
+                    : ProjectGenerator.extractPackageFromPath(block.getFilePath());
+            if (header.getTypeName() == null) continue;
+
+            String qualified = qualify(packages[b], header.getTypeName());
+            if (packages[b] != null) guidePackages.add(packages[b]);
+
+            Integer id = typeIds.get(qualified);
+            if (id == null) {
+                id = typeNames.size();
+                typeIds.put(qualified, id);
+                typeNames.add(qualified);
+                definitions.add(b);
+                typesBySimpleName.computeIfAbsent(header.getTypeName(), k -> new ArrayList<>()).add(id);
+            } else {
+                definitions.set(id, b);
+            }
+            declaredType[b] = id;
+        }
+        definingBlock = definitions.stream().mapToInt(Integer::intValue).toArray();
+
+        // Segunda pasada: dependencias de cada bloque
+        dependencyOffsets = new int[count + 1];
+        int[] targets = new int[Math.max(16, count * 4)];
+        int size = 0;
+        // Marca por tipo del último bloque que lo añadió, para no repetir aristas
+        int[] seenBy = new int[typeNames.size()];
+        Arrays.fill(seenBy, -1);
+
+        for (int b = 0; b < count; b++) {
+            dependencyOffsets[b] = size;
+            JavaHeaderLexer.Header header = headers[b];
+            if (header == null) continue;
+
+            List<String> visiblePackages = new ArrayList<>();
+            if (packages[b] != null) visiblePackages.add(packages[b]);
+
+            for (String imported : header.getImports()) {
+                boolean isStatic = imported.startsWith("static ");
+                String name = isStatic ? imported.substring("static ".length()) : imported;
+                if (name.endsWith(".*")) {
+                    String importedPackage = name.substring(0, name.length() - 2);
+                    Integer outer = typeIds.get(importedPackage);
+                    if (outer != null) {
+                        size = addTarget(b, outer, seenBy, targets, size);
+                        targets = growIfNeeded(targets, size);
+                    } else {
+                        visiblePackages.add(importedPackage);
+                    }
+                    continue;
+                }
+
+                Integer id = typeIds.get(name);
+                if (id == null && isStatic) {
+                    // import static a.b.Tipo.miembro
+                    int lastDot = name.lastIndexOf('.');
+                    if (lastDot > 0) {
+                        name = name.substring(0, lastDot);
+                        id = typeIds.get(name);
+                    }
+                }
+                if (id != null) {
+                    size = addTarget(b, id, seenBy, targets, size);
+                    targets = growIfNeeded(targets, size);
+                } else if (isInGuidePackage(name, guidePackages)) {
+                    missingTypes.add(new MissingType(blocks.get(b), name));
+                }
+            }
+
+            for (String simpleName : JavaHeaderLexer.typeReferences(blocks.get(b).getContent())) {
+                for (String visiblePackage : visiblePackages) {
+                    Integer id = typeIds.get(qualify(visiblePackage, simpleName));
+                    if (id != null) {
+                        size = addTarget(b, id, seenBy, targets, size);
+                        targets = growIfNeeded(targets, size);
+                        break;
+                    }
+                }
+            }
+        }
+        dependencyOffsets[count] = size;
+        dependencyTargets = Arrays.copyOf(targets, size);
+    }
+
+    private int addTarget(int block, int typeId, int[] seenBy, int[] targets, int size) {
+        if (typeId == declaredType[block] || seenBy[typeId] == block) {
+            return size;
+        }
+        seenBy[typeId] = block;
+        targets[size] = typeId;
+        return size + 1;
+    }
+
+    private static int[] growIfNeeded(int[] targets, int size) {
+        return size < targets.length ? targets : Arrays.copyOf(targets, targets.length * 2);
+    }
+
+    /**
+     * Si el tipo pertenece a un paquete de la guía o a un subpaquete suyo.
+     */
+    private static boolean isInGuidePackage(String qualifiedName, Set<String> guidePackages) {
+        int dot = qualifiedName.lastIndexOf('.');
+        while (dot > 0) {
+            if (guidePackages.contains(qualifiedName.substring(0, dot))) {
+                return true;
+            }
+            dot = qualifiedName.lastIndexOf('.', dot - 1);
+        }
+        return false;
+    }
+
+    private static boolean isJava(CodeBlock block) {
+        return block.getFilePath() != null && block.getFilePath().endsWith(".java");
+    }
+
+    private static String qualify(String packageName, String simpleName) {
+        return packageName == null || packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+    }
+
+    /**
+     * Identificador del tipo a partir de su nombre completo o, si no es ambiguo,
+     * de su nombre simple. Devuelve -1 si no se encuentra.
+     */
+    public int findType(String name) {
+        Integer id = typeIds.get(name);
+        if (id != null) return id;
+        List<Integer> candidates = typesBySimpleName.get(name);
+        return candidates != null && candidates.size() == 1 ? candidates.get(0) : NO_TYPE;
+    }
+
+    public String getTypeName(int typeId) {
+        return typeNames.get(typeId);
+    }
+
+    public int getTypeCount() {
+        return typeNames.size();
+    }
+
+    /**
+     * Índice (en la lista de bloques) de la última versión del tipo, o -1.
+     */
+    public int getDefiningBlock(String qualifiedName) {
+        Integer id = typeIds.get(qualifiedName);
+        return id != null ? definingBlock[id] : NO_TYPE;
+    }
+
+    /**
+     * Tipos de la guía que usa el bloque indicado.
+     */
+    public int[] getDependencies(int blockIndex) {
+        return Arrays.copyOfRange(dependencyTargets,
+                dependencyOffsets[blockIndex], dependencyOffsets[blockIndex + 1]);
+    }
+
+    public int getEdgeCount() {
+        return dependencyTargets.length;
+    }
+
+    /**
+     * Bloques mínimos para generar el tipo y todas sus dependencias
+     * transitivas (la última versión de cada uno), en orden de documento.
+     */
+    public List<CodeBlock> closure(int typeId) {
+        BitSet visited = new BitSet(blocks.size());
+        Deque<Integer> pending = new ArrayDeque<>();
+        int start = definingBlock[typeId];
+        visited.set(start);
+        pending.add(start);
+
+        while (!pending.isEmpty()) {
+            int block = pending.poll();
+            for (int e = dependencyOffsets[block]; e < dependencyOffsets[block + 1]; e++) {
+                int next = definingBlock[dependencyTargets[e]];
+                if (!visited.get(next)) {
+                    visited.set(next);
+                    pending.add(next);
+                }
+            }
+        }
+
+        List<CodeBlock> result = new ArrayList<>(visited.cardinality());
+        for (int b = visited.nextSetBit(0); b >= 0; b = visited.nextSetBit(b + 1)) {
+            result.add(blocks.get(b));
+        }
+        return result;
+    }
+
+    public List<MissingType> getMissingTypes() {
+        return missingTypes;
+    }
+
+    /**
+     * Nombres simples declarados en más de un paquete, con sus nombres completos.
+     */
+    public Map<String, List<String>> getDuplicateSimpleNames() {
+        Map<String, List<String>> duplicates = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Integer>> entry : typesBySimpleName.entrySet()) {
+            if (entry.getValue().size() > 1) {
+                List<String> names = new ArrayList<>();
+                for (int id : entry.getValue()) {
+                    names.add(typeNames.get(id));
+                }
+                duplicates.put(entry.getKey(), names);
+            }
+        }
+        return duplicates;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Tipos: %d | Dependencias: %d | Tipos ausentes: %d | Nombres duplicados: %d",
+                getTypeCount(), getEdgeCount(), missingTypes.size(), getDuplicateSimpleNames().size());
+    }
+}
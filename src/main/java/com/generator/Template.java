@@ -0,0 +1,165 @@
+// src/main/java/com/generator/Template.java
+
+package com.generator;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Texto con variables {@code ${nombre}} compilado en una lista de literales y huecos.
+ *
+ * {@code ${nombre:path}} inserta el valor con los puntos cambiados por '/', para
+ * usar un paquete en una ruta. Las variables sin valor se dejan tal cual (así
+ * sobreviven las propiedades de Maven como {@code ${java.version}}) y
+ * {@code $${...}} se escribe como {@code ${...}} literal. Solo se compila al
+ * instanciar la guía con valores: sin ellos la salida es el texto original.
+ */
+public final class Template {
+
+    private static final String PATH_SUFFIX = ":path";
+
+    // literals[i] va antes de slots[i]; el último literal cierra el texto
+    private final String[] literals;
+    private final String[] slots;
+    private final boolean[] pathForm;
+    private final int literalLength;
+    // Si el texto tenía algún $${...}: el literal ya no es igual al original
+    private final boolean escapes;
+
+    private Template(List<String> literals, List<String> slots, List<Boolean> pathForm, boolean escapes) {
+        this.literals = literals.toArray(new String[0]);
+        this.escapes = escapes;
+        this.slots = slots.toArray(new String[0]);
+        this.pathForm = new boolean[slots.size()];
+        int length = 0;
+        for (int i = 0; i < this.pathForm.length; i++) {
+            this.pathForm[i] = pathForm.get(i);
+        }
+        for (String literal : this.literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    public static Template compile(String text) {
+        List<String> literals = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        List<Boolean> pathForm = new ArrayList<>();
+        boolean escapes = false;
+
+        StringBuilder literal = new StringBuilder();
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            int dollar = text.indexOf('$', i);
+            if (dollar < 0) {
+                literal.append(text, i, length);
+                break;
+            }
+            literal.append(text, i, dollar);
+
+            if (text.startsWith("$${", dollar)) {
+                literal.append("${");
+                escapes = true;
+                i = dollar + 3;
+                continue;
+            }
+            int close = text.startsWith("${", dollar) ? text.indexOf('}', dollar + 2) : -1;
+            if (close < 0 || !isVariableName(text, dollar + 2, close)) {
+                literal.append('$');
+                i = dollar + 1;
+                continue;
+            }
+
+            String name = text.substring(dollar + 2, close);
+            boolean path = name.endsWith(PATH_SUFFIX);
+            literals.add(literal.toString());
+            slots.add(path ? name.substring(0, name.length() - PATH_SUFFIX.length()) : name);
+            pathForm.add(path);
+            literal.setLength(0);
+            i = close + 1;
+        }
+        literals.add(literal.toString());
+        return new Template(literals, slots, pathForm, escapes);
+    }
+
+    private static boolean isVariableName(String text, int from, int to) {
+        if (from >= to) return false;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '.' && c != '_' && c != '-' && c != ':') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean hasSlots() {
+        return slots.length > 0;
+    }
+
+    /**
+     * Si {@link #render} puede devolver un texto distinto del original: tiene
+     * huecos o escapes {@code $${...}}, que se convierten aunque no haya valores.
+     */
+    public boolean needsRendering() {
+        return escapes || slots.length > 0;
+    }
+
+    /**
+     * Nombres de las variables usadas, en orden de aparición.
+     */
+    public Set<String> variables() {
+        Set<String> names = new LinkedHashSet<>();
+        for (String slot : slots) {
+            names.add(slot);
+        }
+        return names;
+    }
+
+    public String render(Map<String, String> values) {
+        if (slots.length == 0) {
+            return literals[0];
+        }
+        StringBuilder sb = new StringBuilder(literalLength + slots.length * 16);
+        for (int i = 0; i < slots.length; i++) {
+            sb.append(literals[i]);
+            String value = values.get(slots[i]);
+            if (value == null) {
+                sb.append("${").append(slots[i]).append(pathForm[i] ? PATH_SUFFIX : "").append('}');
+            } else {
+                sb.append(pathForm[i] ? value.replace('.', '/') : value);
+            }
+        }
+        sb.append(literals[slots.length]);
+        return sb.toString();
+    }
+
+    /**
+     * Convierte un nombre de paquete en ruta respetando las variables:
+     * {@code ${base.package}.domain} pasa a {@code ${base.package:path}/domain}.
+     */
+    public static String packageToPath(String packageName) {
+        if (!packageName.contains("${")) {
+            return packageName.replace('.', '/');
+        }
+        StringBuilder sb = new StringBuilder(packageName.length() + 8);
+        int i = 0;
+        while (i < packageName.length()) {
+            int start = packageName.indexOf("${", i);
+            int close = start < 0 ? -1 : packageName.indexOf('}', start);
+            if (close < 0) {
+                sb.append(packageName.substring(i).replace('.', '/'));
+                break;
+            }
+            sb.append(packageName.substring(i, start).replace('.', '/'));
+            String name = packageName.substring(start + 2, close);
+            sb.append("${").append(name).append(name.endsWith(PATH_SUFFIX) ? "" : PATH_SUFFIX).append('}');
+            i = close + 1;
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,111 @@
+// src/main/java/com/generator/TemplateRenderer.java
+
+package com.generator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Instancia una guía con variables para distintos valores sin volver a parsearla.
+ *
+ * La ruta y el contenido de cada bloque (y los segmentos del README) se
+ * compilan una sola vez en plantillas; los contenidos idénticos comparten
+ * plantilla. Cada render es una concatenación por archivo, y los bloques sin
+ * variables ni escapes se reutilizan tal cual.
+ */
+public class TemplateRenderer {
+
+    private final List<CodeBlock> blocks;
+    private final Template[] paths;
+    private final Template[] contents;
+    private final List<Template> readmeSegments = new ArrayList<>();
+    private final Set<String> variables = new LinkedHashSet<>();
+    private boolean needsRendering;
+
+    public TemplateRenderer(List<CodeBlock> blocks) {
+        this(blocks, List.of());
+    }
+
+    public TemplateRenderer(List<CodeBlock> blocks, List<GuideAssembler.Segment> segments) {
+        this.blocks = blocks;
+        this.paths = new Template[blocks.size()];
+        this.contents = new Template[blocks.size()];
+
+        Map<String, Template> cache = new HashMap<>();
+        for (int i = 0; i < blocks.size(); i++) {
+            CodeBlock block = blocks.get(i);
+            if (block.getFilePath() != null) {
+                paths[i] = cache.computeIfAbsent(block.getFilePath(), Template::compile);
+                variables.addAll(paths[i].variables());
+                needsRendering |= paths[i].needsRendering();
+            }
+            contents[i] = cache.computeIfAbsent(block.getContent(), Template::compile);
+            variables.addAll(contents[i].variables());
+            needsRendering |= contents[i].needsRendering();
+        }
+        for (GuideAssembler.Segment segment : segments) {
+            Template template = Template.compile(segment.getContent());
+            readmeSegments.add(template);
+            variables.addAll(template.variables());
+            needsRendering |= template.needsRendering();
+        }
+    }
+
+    /**
+     * Bloques con las variables sustituidas.
+     */
+    public List<CodeBlock> render(Map<String, String> values) {
+        List<CodeBlock> rendered = new ArrayList<>(blocks.size());
+        for (int i = 0; i < blocks.size(); i++) {
+            CodeBlock block = blocks.get(i);
+            boolean renderPath = paths[i] != null && paths[i].needsRendering();
+            if (!renderPath && !contents[i].needsRendering()) {
+                rendered.add(block);
+                continue;
+            }
+            CodeBlock.Builder builder = block.toBuilder();
+            if (renderPath) {
+                builder.filePath(paths[i].render(values));
+            }
+            if (contents[i].needsRendering()) {
+                builder.content(contents[i].render(values));
+            }
+            rendered.add(builder.build());
+        }
+        return rendered;
+    }
+
+    /**
+     * Segmentos del README con las variables sustituidas.
+     */
+    public List<String> renderReadme(Map<String, String> values) {
+        List<String> rendered = new ArrayList<>(readmeSegments.size());
+        for (Template template : readmeSegments) {
+            rendered.add(template.render(values));
+        }
+        return rendered;
+    }
+
+    public boolean hasVariables() {
+        return !variables.isEmpty();
+    }
+
+    /**
+     * Si algún bloque o segmento cambia al renderizar (variables o escapes
+     * {@code $${...}}); si no, render devuelve los mismos bloques.
+     */
+    public boolean needsRendering() {
+        return needsRendering;
+    }
+
+    /**
+     * Variables que aparecen en la guía (incluidas propiedades de Maven, que no se tocan si no tienen valor).
+     */
+    public Set<String> getVariables() {
+        return variables;
+    }
+}
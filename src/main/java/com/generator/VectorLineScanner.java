@@ -0,0 +1,130 @@
+// src/main/java/com/generator/VectorLineScanner.java
+
+package com.generator;
+
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link LineScanner} con la Vector API: busca los saltos de línea seguidos de
+ * '`', '~', '#' o espacio comparando 16 caracteres (32 bytes, AVX2) o 32
+ * (64 bytes, AVX-512) de una vez, y solo en esas posiciones mira la línea.
+ *
+ * Solo se compila con el perfil {@code vector} (mvn -Pvector package) y solo
+ * se carga si la JVM arranca con {@code --add-modules jdk.incubator.vector};
+ * si no, {@link LineScanner#vector()} devuelve null y se usa la escalar.
+ */
+final class VectorLineScanner extends LineScanner {
+
+    private static final VectorSpecies<Short> SPECIES = ShortVector.SPECIES_PREFERRED;
+    private static final short NEWLINE = '\n';
+    private static final short BACKTICK = '`';
+    private static final short TILDE = '~';
+    private static final short HASH = '#';
+    private static final short SPACE = ' ';
+    // Caracteres copiados del texto por tanda
+    private static final int WINDOW = 64 * 1024;
+    // Caracteres tras la ventana que miran las cargas desplazadas
+    private static final int LOOKAHEAD = MarkdownSyntax.MAX_FENCE_INDENT + 1;
+
+    @Override
+    String name() {
+        return "vectorial (" + SPECIES.length() + " caracteres por comparacion)";
+    }
+
+    @Override
+    Cursor open(String text) {
+        return new VectorCursor(text);
+    }
+
+    private static final class VectorCursor implements Cursor {
+        private final String text;
+        private final int length;
+        // Posiciones extra para las cargas desplazadas (los caracteres siguientes a la ventana)
+        private final char[] window = new char[WINDOW + LOOKAHEAD];
+        private int windowStart = 0;
+        private int windowEnd = 0;
+        private int skipped;
+
+        VectorCursor(String text) {
+            this.text = text;
+            this.length = text.length();
+        }
+
+        @Override
+        public int next(int from) {
+            skipped = 0;
+            if (from >= length) return length;
+            if (isCandidate(text, from)) return from;
+
+            int lanes = SPECIES.length();
+            int position = from;
+            while (position < length) {
+                if (position < windowStart || position >= windowEnd) {
+                    load(position);
+                }
+                int i = position - windowStart;
+                int limit = windowEnd - windowStart;
+
+                for (; i + lanes <= limit; i += lanes) {
+                    VectorMask<Short> newlines = ShortVector.fromCharArray(SPECIES, window, i).eq(NEWLINE);
+                    if (!newlines.anyTrue()) continue;
+
+                    // Salto seguido de '`', '~' o '#' tras cero a tres espacios, con cargas desplazadas
+                    ShortVector first = ShortVector.fromCharArray(SPECIES, window, i + 1);
+                    ShortVector second = ShortVector.fromCharArray(SPECIES, window, i + 2);
+                    ShortVector third = ShortVector.fromCharArray(SPECIES, window, i + 3);
+                    ShortVector fourth = ShortVector.fromCharArray(SPECIES, window, i + 4);
+                    VectorMask<Short> marks = isMark(third).or(third.eq(SPACE).and(isMark(fourth)));
+                    marks = isMark(second).or(second.eq(SPACE).and(marks));
+                    marks = isMark(first).or(first.eq(SPACE).and(marks));
+                    VectorMask<Short> candidates = newlines.and(marks);
+                    if (!candidates.anyTrue()) {
+                        // Caso habitual: solo se cuentan los saltos
+                        skipped += newlines.trueCount();
+                        continue;
+                    }
+                    int lane = candidates.firstTrue();
+                    skipped += Long.bitCount(newlines.toLong() & (-1L >>> (63 - lane)));
+                    return windowStart + i + lane + 1;
+                }
+
+                // Resto de la ventana que no llena un vector
+                for (; i < limit; i++) {
+                    if (window[i] == '\n') {
+                        skipped++;
+                        int lineStart = windowStart + i + 1;
+                        if (lineStart < length && isCandidate(text, lineStart)) {
+                            return lineStart;
+                        }
+                    }
+                }
+                position = windowEnd;
+            }
+
+            // Última línea sin salto
+            if (text.charAt(length - 1) != '\n') skipped++;
+            return length;
+        }
+
+        @Override
+        public int skippedLines() {
+            return skipped;
+        }
+
+        private static VectorMask<Short> isMark(ShortVector chars) {
+            return chars.eq(BACKTICK).or(chars.eq(TILDE)).or(chars.eq(HASH));
+        }
+
+        private void load(int position) {
+            windowStart = position;
+            windowEnd = Math.min(length, position + WINDOW);
+            text.getChars(windowStart, windowEnd, window, 0);
+            for (int k = 0; k < LOOKAHEAD; k++) {
+                int next = windowEnd + k;
+                window[windowEnd - windowStart + k] = next < length ? text.charAt(next) : 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,213 @@
+// src/main/java/com/generator/WatchMode.java
+
+package com.generator;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Modo observación: regenera de forma incremental el proyecto cada vez
+ * que cambia la guía, reescribiendo solo los archivos afectados.
+ */
+public class WatchMode {
+
+    private static final long DEBOUNCE_MILLIS = 250;
+
+    private final Path markdownFile;
+    private final Path outputDirectory;
+    private final boolean debugMode;
+    private final boolean noReadme;
+    private ConfigPathRules configRules = ConfigPathRules.defaults();
+    private ScanLimits scanLimits = ScanLimits.defaults();
+    private BlockFilter filter = BlockFilter.all();
+    private boolean fastScan;
+    private Map<String, String> templateValues = Map.of();
+
+    // Última versión generada de cada ruta (el último bloque de la guía gana)
+    private Map<String, CodeBlock> generatedByPath = new LinkedHashMap<>();
+
+    // Guía principal y capítulos incluidos, con los directorios ya registrados
+    private Set<Path> sourceFiles = new HashSet<>();
+    private final Set<Path> watchedDirectories = new HashSet<>();
+
+    public WatchMode(Path markdownFile, Path outputDirectory, boolean debugMode, boolean noReadme) {
+        this.markdownFile = markdownFile;
+        this.outputDirectory = outputDirectory;
+        this.debugMode = debugMode;
+        this.noReadme = noReadme;
+    }
+
+    public void setConfigRules(ConfigPathRules configRules) {
+        this.configRules = configRules;
+    }
+
+    public void setScanLimits(ScanLimits scanLimits) {
+        this.scanLimits = scanLimits;
+    }
+
+    public void setFilter(BlockFilter filter) {
+        this.filter = filter;
+    }
+
+    public void setFastScan(boolean fastScan) {
+        this.fastScan = fastScan;
+    }
+
+    public void setTemplateValues(Map<String, String> templateValues) {
+        this.templateValues = templateValues;
+    }
+
+    public void start() throws IOException {
+        ConsoleUtils.printSubHeader("Modo Observacion");
+
+        regenerate();
+
+        try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+            registerDirectories(watchService);
+            ConsoleUtils.printInfo("Observando cambios en " + sourceFiles.size()
+                    + " archivo(s) de la guia (Ctrl+C para salir)");
+
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean guideChanged = drainEvents(key);
+
+                // Agrupar ráfagas de eventos (los editores suelen escribir varias veces)
+                while (true) {
+                    WatchKey next = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    guideChanged |= drainEvents(next);
+                }
+
+                if (guideChanged) {
+                    try {
+                        regenerate();
+                        registerDirectories(watchService);
+                    } catch (IOException e) {
+                        ConsoleUtils.printError("Error al regenerar: " + e.getMessage());
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Cierre normal
+        }
+    }
+
+    /**
+     * Registra los directorios de los capítulos que aún no se observaban.
+     */
+    private void registerDirectories(WatchService watchService) throws IOException {
+        for (Path file : sourceFiles) {
+            Path directory = file.getParent();
+            if (watchedDirectories.add(directory)) {
+                directory.register(watchService,
+                        StandardWatchEventKinds.ENTRY_MODIFY,
+                        StandardWatchEventKinds.ENTRY_CREATE);
+            }
+        }
+    }
+
+    private boolean drainEvents(WatchKey key) {
+        boolean matched = false;
+        Path directory = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                    || sourceFiles.contains(directory.resolve((Path) event.context()))) {
+                matched = true;
+            }
+        }
+        key.reset();
+        return matched;
+    }
+
+    /**
+     * Re-parsea la guía y aplica solo las diferencias respecto a la generación anterior.
+     */
+    private void regenerate() throws IOException {
+        long start = System.nanoTime();
+
+        List<GuideAssembler.Segment> segments = GuideAssembler.assemble(markdownFile);
+        sourceFiles = GuideAssembler.sourceFiles(segments);
+
+        MarkdownParser parser = new MarkdownParser(markdownFile);
+        parser.setDebugMode(debugMode);
+        parser.setConfigRules(configRules);
+        parser.setScanLimits(scanLimits);
+        parser.setFilter(filter);
+        parser.setFastScan(fastScan);
+        List<CodeBlock> blocks = parser.parse(segments);
+        for (MarkdownParser.Problem problem : parser.getProblems()) {
+            ConsoleUtils.printWarning(problem.toString());
+        }
+        List<String> readmeSegments = null;
+        if (!templateValues.isEmpty()) {
+            TemplateRenderer renderer = new TemplateRenderer(blocks, segments);
+            blocks = renderer.render(templateValues);
+            readmeSegments = renderer.renderReadme(templateValues);
+        }
+
+        Map<String, CodeBlock> latestByPath = new LinkedHashMap<>();
+        for (CodeBlock block : blocks) {
+            if (block.getFilePath() != null && !block.getFilePath().isEmpty()) {
+                latestByPath.remove(block.getFilePath());
+                latestByPath.put(block.getFilePath(), block);
+            }
+        }
+
+        ProjectGenerator generator = new ProjectGenerator(outputDirectory, blocks);
+        generator.setReadmeSegments(readmeSegments);
+        generator.generateProjectStructure();
+
+        int written = 0;
+        for (Map.Entry<String, CodeBlock> entry : latestByPath.entrySet()) {
+            CodeBlock previous = generatedByPath.get(entry.getKey());
+            if (previous == null || !previous.getContent().equals(entry.getValue().getContent())) {
+                generator.generateFile(entry.getValue());
+                written++;
+                debug("Reescrito: " + entry.getKey());
+            } else {
+                GeneratorEvents.fileSkipped(entry.getKey());
+            }
+        }
+
+        int deleted = 0;
+        for (String oldPath : generatedByPath.keySet()) {
+            if (!latestByPath.containsKey(oldPath) && generator.deleteFile(oldPath)) {
+                deleted++;
+                debug("Eliminado: " + oldPath);
+            }
+        }
+
+        if (!noReadme) {
+            generator.generateReadme(markdownFile);
+        }
+
+        generatedByPath = latestByPath;
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        ConsoleUtils.printSuccess(String.format(
+                "%d bloques | %d escritos | %d eliminados | %d sin cambios (%d ms)",
+                blocks.size(), written, deleted, latestByPath.size() - written, elapsedMillis));
+    }
+
+    private void debug(String message) {
+        if (debugMode) {
+            System.out.println("[DEBUG] " + message);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+// src/test/java/com/generator/AppTest.java
+
+package com.generator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AppTest {
+
+    private static final String COMPOSE = "services:\n  app:\n    image: demo\n    command: echo $${HOME}\n";
+
+    @TempDir
+    Path temp;
+
+    private Path guide() throws IOException {
+        return Files.writeString(temp.resolve("guia.md"),
+                "## FASE 1\n\n```yaml\n# docker-compose.yml\n" + COMPOSE + "```\n");
+    }
+
+    private String generate(String... extra) throws IOException {
+        Path output = temp.resolve("salida");
+        String[] args = new String[4 + extra.length];
+        args[0] = guide().toString();
+        args[1] = output.toString();
+        args[2] = "--auto";
+        args[3] = "--no-readme";
+        System.arraycopy(extra, 0, args, 4, extra.length);
+        App.main(args);
+        return Files.readString(output.resolve("docker-compose.yml"));
+    }
+
+    @Test
+    void sinVariablesLosEscapesSeConservan() throws IOException {
+        assertEquals(COMPOSE, generate());
+    }
+
+    @Test
+    void conVariablesLosEscapesSeConvierten() throws IOException {
+        assertEquals(COMPOSE.replace("$${HOME}", "${HOME}"),
+                generate("--var", "nombre=demo"));
+    }
+}
@@ -0,0 +1,71 @@
+// src/test/java/com/generator/BlockFilterTest.java
+
+package com.generator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class BlockFilterTest {
+
+    private static final String GUIDE = "## FASE 1\n\n"
+            + "```xml\n<!-- pom.xml -->\n<v>1</v>\n```\n\n"
+            + "```java\n// src/main/java/A.java\nclass A {}\n```\n\n"
+            + "## FASE 2\n\n"
+            + "```xml\n<!-- pom.xml -->\n<v>2</v>\n```\n";
+
+    private static MarkdownParser parser(BlockFilter filter) {
+        MarkdownParser parser = new MarkdownParser(null);
+        parser.setFilter(filter);
+        return parser;
+    }
+
+    @Test
+    void rutaLiteralRecorreLaGuiaEntera() {
+        List<CodeBlock> blocks = parser(new BlockFilter.Builder().only("pom.xml").build()).parse(GUIDE);
+
+        assertEquals(2, blocks.size());
+        assertEquals("FASE 2", blocks.get(1).getPhase());
+        assertEquals("<v>2</v>", blocks.get(1).getContent().trim());
+    }
+
+    @Test
+    void elListadoVeTodasLasVersiones() {
+        List<CodeBlock> blocks = new ArrayList<>();
+        parser(new BlockFilter.Builder().only("pom.xml").build())
+                .parse(GuideAssembler.fromText(GUIDE), blocks::add);
+
+        assertEquals(2, blocks.size());
+    }
+
+    @Test
+    void faseYRutaSeCombinan() {
+        List<CodeBlock> blocks = parser(new BlockFilter.Builder().only("pom.xml").phase("1").build()).parse(GUIDE);
+
+        assertEquals(1, blocks.size());
+        assertEquals("<v>1</v>", blocks.get(0).getContent().trim());
+    }
+
+    @Test
+    void laNumeracionEsLaDeLaGuiaCompleta() {
+        List<CodeBlock> blocks = parser(new BlockFilter.Builder().only("pom.xml").phase("2").build()).parse(GUIDE);
+
+        assertEquals(1, blocks.size());
+        assertEquals(3, blocks.get(0).getOrder());
+        assertEquals(2, blocks.get(0).getPhaseOrdinal());
+    }
+
+    @Test
+    void elListadoNumeraIgualQueElParseo() {
+        List<CodeBlock> blocks = new ArrayList<>();
+        parser(new BlockFilter.Builder().only("src/**").build())
+                .parse(GuideAssembler.fromText(GUIDE), blocks::add);
+
+        assertEquals(1, blocks.size());
+        assertEquals(2, blocks.get(0).getOrder());
+        assertEquals(1, blocks.get(0).getPhaseOrdinal());
+    }
+}
@@ -0,0 +1,43 @@
+// src/test/java/com/generator/ContentPipelineTest.java
+
+package com.generator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class ContentPipelineTest {
+
+    private static final ContentPipeline LICENSED = ContentPipeline.builder().licenseHeader("MIT").build();
+
+    private static String render(String path, String content) {
+        return LICENSED.render(new CodeBlock.Builder().order(1).filePath(path).content(content).build());
+    }
+
+    @Test
+    void licenciaTrasElShebang() {
+        assertEquals("#!/bin/bash\n# MIT\n\necho hola\n", render("run.sh", "#!/bin/bash\necho hola\n"));
+    }
+
+    @Test
+    void licenciaTrasLasDirectivasDeDockerfile() {
+        assertEquals("# syntax=docker/dockerfile:1\n# escape=`\n# MIT\n\nFROM alpine\n",
+                render("Dockerfile", "# syntax=docker/dockerfile:1\n# escape=`\nFROM alpine\n"));
+    }
+
+    @Test
+    void comentarioNormalDeDockerfileNoEsDirectiva() {
+        assertEquals("# MIT\n\n# imagen base\nFROM alpine\n", render("Dockerfile", "# imagen base\nFROM alpine\n"));
+    }
+
+    @Test
+    void licenciaTrasLaDeclaracionXml() {
+        assertEquals("<?xml version=\"1.0\"?>\n<!--\n  MIT\n-->\n\n<project/>\n",
+                render("pom.xml", "<?xml version=\"1.0\"?>\n<project/>\n"));
+    }
+
+    @Test
+    void sinPreambuloLaLicenciaVaPrimero() {
+        assertEquals("# MIT\n\necho hola\n", render("run.sh", "echo hola\n"));
+    }
+}
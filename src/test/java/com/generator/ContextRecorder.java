@@ -0,0 +1,45 @@
+// src/test/java/com/generator/ContextRecorder.java
+
+package com.generator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Estrategia de pruebas que no encuentra rutas: solo guarda el contexto que el
+ * parser entrega a las estrategias, para comprobar que respeta {@link ScanLimits}.
+ * Se añade al parser bajo prueba con {@link MarkdownParser#addPathStrategy}; con
+ * prioridad 1 ve todos los bloques.
+ */
+class ContextRecorder implements PathStrategy {
+
+    // Los capítulos se parsean en paralelo
+    private final List<PathContext> contexts = Collections.synchronizedList(new ArrayList<>());
+
+    void clear() {
+        contexts.clear();
+    }
+
+    List<PathContext> contexts() {
+        synchronized (contexts) {
+            return new ArrayList<>(contexts);
+        }
+    }
+
+    @Override
+    public String name() {
+        return "registro";
+    }
+
+    @Override
+    public int priority() {
+        return 1;
+    }
+
+    @Override
+    public String find(PathContext context) {
+        contexts.add(context);
+        return null;
+    }
+}
@@ -0,0 +1,24 @@
+// src/test/java/com/generator/GeneratorServerTest.java
+
+package com.generator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.net.URI;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class GeneratorServerTest {
+
+    @Test
+    void lasClavesYLosValoresSeDecodifican() {
+        Map<String, String> query = GeneratorServer.parseQuery(
+                URI.create("/generate?format=%6Ason&nota=a+b%20c&r%C3%A9sum%C3%A9=%C3%B1&readme"));
+
+        assertEquals("json", query.get("format"));
+        assertEquals("a b c", query.get("nota"));
+        assertEquals("ñ", query.get("résumé"));
+        assertEquals("", query.get("readme"));
+    }
+}
@@ -0,0 +1,234 @@
+// src/test/java/com/generator/GuideSynthesizer.java
+
+package com.generator;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Genera guías Markdown sintéticas y deterministas (misma semilla, misma guía)
+ * para medir el parser y el generador a escalas mucho mayores que las guías reales.
+ *
+ * Se pueden configurar las fases, secciones por fase, bloques por sección, los
+ * lenguajes usados, la proporción de bloques sin ruta deducible y la de bloques
+ * que redefinen una ruta anterior.
+ */
+class GuideSynthesizer {
+
+    private static final String[] LANGUAGES = {"java", "xml", "yaml", "properties", "sql", "bash"};
+    private static final String[] WORDS = {
+            "cliente", "pedido", "factura", "producto", "catalogo", "pago", "envio",
+            "stock", "usuario", "cuenta", "tienda", "carrito", "oferta", "informe"
+    };
+
+    private final long seed;
+    private final int phases;
+    private final int sectionsPerPhase;
+    private final int blocksPerSection;
+    private final String[] languages;
+    private final double unresolvedRatio;
+    private final double duplicateRatio;
+
+    private GuideSynthesizer(Builder builder) {
+        this.seed = builder.seed;
+        this.phases = builder.phases;
+        this.sectionsPerPhase = builder.sectionsPerPhase;
+        this.blocksPerSection = builder.blocksPerSection;
+        this.languages = builder.languages;
+        this.unresolvedRatio = builder.unresolvedRatio;
+        this.duplicateRatio = builder.duplicateRatio;
+    }
+
+    /**
+     * Configuración de referencia: a escala 1 tiene el tamaño de las guías incluidas
+     * (5 fases, unos 25 bloques); la escala multiplica el número de fases.
+     */
+    public static Builder scaled(int scale, long seed) {
+        return new Builder().seed(seed).phases(5 * scale).sectionsPerPhase(2).blocksPerSection(3);
+    }
+
+    public String generate() {
+        StringWriter writer = new StringWriter();
+        try {
+            write(writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Escribe la guía en streaming: el tamaño en memoria no depende de la escala
+     * salvo por la lista de rutas ya emitidas.
+     */
+    public void write(Writer out) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<String> javaPaths = new ArrayList<>();
+        int counter = 0;
+
+        out.write("# Guía sintética (semilla " + seed + ")\n\n");
+        out.write("Guía generada para pruebas de escala.\n\n");
+
+        for (int p = 1; p <= phases; p++) {
+            out.write("## FASE " + p + ": " + capitalize(word(random)) + " de " + word(random) + "\n\n");
+            for (int s = 1; s <= sectionsPerPhase; s++) {
+                out.write("### " + p + "." + s + " " + capitalize(word(random)) + "\n\n");
+                out.write("Texto explicativo de la sección con `codigo en linea` y una lista:\n\n");
+                out.write("- punto uno\n- punto dos\n\n");
+
+                for (int b = 0; b < blocksPerSection; b++) {
+                    counter++;
+                    boolean unresolved = random.nextDouble() < unresolvedRatio;
+                    boolean duplicate = random.nextDouble() < duplicateRatio;
+                    String language = languages[random.nextInt(languages.length)];
+                    int bodyLines = 4 + random.nextInt(20);
+
+                    if (unresolved) {
+                        writeUnresolved(out, counter, bodyLines);
+                    } else if (language.equals("java")) {
+                        String path = duplicate && !javaPaths.isEmpty()
+                                ? javaPaths.get(random.nextInt(javaPaths.size()))
+                                : null;
+                        writeJava(out, random, counter, path, bodyLines, javaPaths);
+                    } else {
+                        writeConfig(out, language, counter, duplicate, bodyLines);
+                    }
+                    out.write("\n");
+                }
+            }
+        }
+    }
+
+    private void writeJava(Writer out, SplittableRandom random, int counter, String existingPath,
+                           int bodyLines, List<String> javaPaths) throws IOException {
+        String path = existingPath;
+        if (path == null) {
+            String module = WORDS[counter % WORDS.length];
+            String className = capitalize(module) + "Servicio" + counter;
+            String folder = counter % 4 == 0 ? "src/test/java" : "src/main/java";
+            if (counter % 4 == 0) className += "Test";
+            path = folder + "/com/sintetica/" + module + "/" + className + ".java";
+            javaPaths.add(path);
+        }
+        String className = path.substring(path.lastIndexOf('/') + 1, path.length() - ".java".length());
+        String packageName = path.substring(path.indexOf("/java/") + 6, path.lastIndexOf('/')).replace('/', '.');
+
+        out.write("```java\n");
+        // La mitad declara la ruta en un comentario; el resto se deduce del package
+        if (counter % 2 == 0) {
+            out.write("// " + path + "\n");
+        }
+        out.write("package " + packageName + ";\n\n");
+        out.write("import java.util.List;\n\n");
+        out.write("public class " + className + " {\n");
+        for (int i = 0; i < bodyLines; i++) {
+            out.write("    private final int campo" + i + " = " + random.nextInt(1000) + "; // \"texto\"\n");
+        }
+        out.write("}\n```\n");
+    }
+
+    private static void writeConfig(Writer out, String language, int counter, boolean duplicate,
+                                    int bodyLines) throws IOException {
+        // Los duplicados reutilizan un nombre fijo por lenguaje
+        String suffix = duplicate ? "comun" : String.valueOf(counter);
+        switch (language) {
+            case "xml":
+                out.write("```xml\n<!-- src/main/resources/config/contexto-" + suffix + ".xml -->\n<beans>\n");
+                for (int i = 0; i < bodyLines; i++) out.write("  <bean id=\"b" + i + "\"/>\n");
+                out.write("</beans>\n```\n");
+                break;
+            case "yaml":
+                out.write("```yaml\n# src/main/resources/config/app-" + suffix + ".yml\nspring:\n");
+                for (int i = 0; i < bodyLines; i++) out.write("  clave" + i + ": valor" + i + "\n");
+                out.write("```\n");
+                break;
+            case "properties":
+                out.write("```properties\n# src/main/resources/config/app-" + suffix + ".properties\n");
+                for (int i = 0; i < bodyLines; i++) out.write("clave." + i + "=valor" + i + "\n");
+                out.write("```\n");
+                break;
+            case "sql":
+                out.write("```sql\n-- src/main/resources/db/datos-" + suffix + ".sql\n");
+                for (int i = 0; i < bodyLines; i++) out.write("INSERT INTO t VALUES (" + i + ");\n");
+                out.write("```\n");
+                break;
+            default:
+                out.write("```bash\n# scripts/tarea-" + suffix + ".sh\n");
+                for (int i = 0; i < bodyLines; i++) out.write("echo paso " + i + "\n");
+                out.write("```\n");
+                break;
+        }
+    }
+
+    private static void writeUnresolved(Writer out, int counter, int bodyLines) throws IOException {
+        // Salida de consola sin ruta: el parser debe descartarla
+        out.write("```text\n");
+        for (int i = 0; i < bodyLines; i++) out.write("[INFO] linea " + i + " del bloque " + counter + "\n");
+        out.write("```\n");
+    }
+
+    private static String word(SplittableRandom random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    public static class Builder {
+        private long seed = 42;
+        private int phases = 5;
+        private int sectionsPerPhase = 2;
+        private int blocksPerSection = 3;
+        private String[] languages = LANGUAGES;
+        private double unresolvedRatio = 0.1;
+        private double duplicateRatio = 0.1;
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public Builder phases(int phases) {
+            this.phases = phases;
+            return this;
+        }
+
+        public Builder sectionsPerPhase(int sectionsPerPhase) {
+            this.sectionsPerPhase = sectionsPerPhase;
+            return this;
+        }
+
+        public Builder blocksPerSection(int blocksPerSection) {
+            this.blocksPerSection = blocksPerSection;
+            return this;
+        }
+
+        public Builder languages(String... languages) {
+            this.languages = languages;
+            return this;
+        }
+
+        public Builder unresolvedRatio(double unresolvedRatio) {
+            this.unresolvedRatio = unresolvedRatio;
+            return this;
+        }
+
+        public Builder duplicateRatio(double duplicateRatio) {
+            this.duplicateRatio = duplicateRatio;
+            return this;
+        }
+
+        public GuideSynthesizer build() {
+            if (phases < 1 || sectionsPerPhase < 1 || blocksPerSection < 1 || languages.length == 0) {
+                throw new IllegalArgumentException("Configuración de guía sintética no válida");
+            }
+            return new GuideSynthesizer(this);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+// src/test/java/com/generator/LineScannerBenchmark.java
+
+package com.generator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Recorrido línea a línea del parser frente a los escáneres de
+ * {@link LineScanner}: el parseo completo y, aparte, solo la búsqueda de
+ * líneas candidatas.
+ *
+ * Se ejecuta con {@code mvn -Pjmh test-compile exec:exec}. El escáner
+ * vectorial necesita compilar también con {@code -Pvector}; si no está, sus
+ * mediciones fallan y el resto sigue. Que los escáneres produzcan los mismos
+ * bloques lo comprueba {@link LineScannerTest}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class LineScannerBenchmark {
+
+    private static final long SEED = 42;
+
+    @Param({"linea", "escalar", "vectorial"})
+    public String scanner;
+
+    /** Guía a medir; vacía para usar una sintética de {@link #scale}. */
+    @Param("")
+    public String guide;
+
+    @Param("100")
+    public int scale;
+
+    private String text;
+    private LineScanner lineScanner;
+    private MarkdownParser parser;
+
+    @Setup
+    public void setUp() throws IOException {
+        text = guide.isEmpty() ? GuideSynthesizer.scaled(scale, SEED).build().generate()
+                : Files.readString(Paths.get(guide));
+        switch (scanner) {
+            case "linea":
+                lineScanner = null;
+                break;
+            case "escalar":
+                lineScanner = LineScanner.scalar();
+                break;
+            case "vectorial":
+                lineScanner = LineScanner.vector();
+                if (lineScanner == null) {
+                    throw new IllegalStateException("Escaner vectorial no disponible: compilar con -Pvector");
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Escaner desconocido: " + scanner);
+        }
+        parser = new MarkdownParser(null);
+        parser.setLineScanner(lineScanner);
+    }
+
+    @Benchmark
+    public List<CodeBlock> parse() {
+        return parser.parse(text);
+    }
+
+    /**
+     * Solo la búsqueda de candidatas, sin el resto del parser. Sin escáner se
+     * examina cada línea.
+     */
+    @Benchmark
+    public int scan() {
+        int candidates = 0;
+        int lineStart = 0;
+        int length = text.length();
+        LineScanner.Cursor cursor = lineScanner != null ? lineScanner.open(text) : null;
+        while (lineStart < length) {
+            if (cursor != null) {
+                lineStart = cursor.next(lineStart);
+                if (lineStart >= length) break;
+                candidates++;
+            } else if (LineScanner.isCandidate(text, lineStart)) {
+                candidates++;
+            }
+            int newline = text.indexOf('\n', lineStart);
+            if (newline < 0) break;
+            lineStart = newline + 1;
+        }
+        return candidates;
+    }
+}
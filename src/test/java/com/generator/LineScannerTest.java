@@ -0,0 +1,96 @@
+// src/test/java/com/generator/LineScannerTest.java
+
+package com.generator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Los escáneres de {@link LineScanner} deben producir exactamente los mismos
+ * bloques que el recorrido línea a línea. El vectorial solo se comprueba si
+ * está disponible (perfil {@code vector}).
+ */
+class LineScannerTest {
+
+    private static final long SEED = 42;
+
+    static Stream<Arguments> guides() throws IOException {
+        List<Arguments> guides = new ArrayList<>();
+        guides.add(Arguments.of("sintetica", GuideSynthesizer.scaled(5, SEED).build().generate()));
+        guides.add(Arguments.of("crlf", "## FASE 1\r\n\r\n```java\r\n// A.java\r\nclass A {}\r\n```\r\n"));
+        guides.add(Arguments.of("sangrias", "## FASE 1\n\n   ```java\n// A.java\n\tclass A {}\n    ```\n   ```\n"
+                + "\t# no es titulo\n  ~~~ sh\n# run.sh\necho\n  ~~~\nsin salto final"));
+        guides.add(Arguments.of("sin-cerrar", "## FASE 1\n\n```java\n// A.java\nclass A {}\n### dentro\n"));
+        guides.add(Arguments.of("vacia", ""));
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(Paths.get("guides"), "*.md")) {
+            for (Path file : files) {
+                guides.add(Arguments.of(file.getFileName().toString(), Files.readString(file)));
+            }
+        }
+        return guides.stream();
+    }
+
+    private static List<LineScanner> scanners() {
+        List<LineScanner> scanners = new ArrayList<>();
+        scanners.add(LineScanner.scalar());
+        LineScanner vector = LineScanner.vector();
+        if (vector != null) {
+            scanners.add(vector);
+        }
+        return scanners;
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("guides")
+    void losEscaneresProducenLosMismosBloques(String name, String guide) {
+        List<String> expected = signatures(new MarkdownParser(null).parse(guide));
+        for (LineScanner scanner : scanners()) {
+            MarkdownParser parser = new MarkdownParser(null);
+            parser.setLineScanner(scanner);
+            assertEquals(expected, signatures(parser.parse(guide)), name + " con " + scanner.name());
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("guides")
+    void elCursorCuentaTodasLasLineas(String name, String guide) {
+        long lines = guide.isEmpty() ? 0 : guide.split("\n", -1).length - (guide.endsWith("\n") ? 1 : 0);
+        for (LineScanner scanner : scanners()) {
+            LineScanner.Cursor cursor = scanner.open(guide);
+            long counted = 0;
+            int lineStart = 0;
+            while (lineStart < guide.length()) {
+                lineStart = cursor.next(lineStart);
+                counted += cursor.skippedLines();
+                if (lineStart >= guide.length()) break;
+                counted++;
+                int newline = guide.indexOf('\n', lineStart);
+                if (newline < 0) break;
+                lineStart = newline + 1;
+            }
+            assertEquals(lines, counted, name + " con " + scanner.name());
+        }
+    }
+
+    private static List<String> signatures(List<CodeBlock> blocks) {
+        List<String> signatures = new ArrayList<>(blocks.size());
+        for (CodeBlock block : blocks) {
+            signatures.add(block.getOrder() + "|" + block.getFilePath() + "|" + block.getLanguage()
+                    + "|" + block.getPhase() + "|" + block.getDescription() + "|" + block.getSourceLine()
+                    + "|" + block.getContent());
+        }
+        return signatures;
+    }
+}
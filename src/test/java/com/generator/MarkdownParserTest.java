@@ -0,0 +1,31 @@
+// src/test/java/com/generator/MarkdownParserTest.java
+
+package com.generator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class MarkdownParserTest {
+
+    private static String pathOf(String code) {
+        List<CodeBlock> blocks = new MarkdownParser(null).parse("## FASE 1\n\n```java\n" + code + "```\n");
+        assertEquals(1, blocks.size());
+        return blocks.get(0).getFilePath();
+    }
+
+    @Test
+    void unTestEnUnMetodoSinImportsVaAPruebas() {
+        assertEquals("src/test/java/com/demo/Calculadora.java", pathOf(
+                "package com.demo;\n\npublic class Calculadora {\n    @Test\n    void suma() {}\n}\n"));
+    }
+
+    @Test
+    void unTestEnComentariosOLiteralesNoCuenta() {
+        assertEquals("src/main/java/com/demo/Calculadora.java", pathOf(
+                "package com.demo;\n\npublic class Calculadora {\n    // @Test pendiente\n"
+                        + "    String nota = \"@Test\";\n}\n"));
+    }
+}
@@ -0,0 +1,276 @@
+// src/test/java/com/generator/ParserFuzzTest.java
+
+package com.generator;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Entradas hostiles para el parser: guías patológicas (líneas minificadas,
+ * cadenas enormes de tokens con guiones, títulos gigantes, vallas sin
+ * cerrar...) y mutaciones aleatorias deterministas de una guía sintética.
+ *
+ * El contexto que reciben las estrategias de rutas debe respetar siempre
+ * {@link ScanLimits}, y al multiplicar el tamaño por {@link #SIZE_STEP} el
+ * tiempo no puede crecer más de {@link #MAX_GROWTH} veces (coste lineal). Esta
+ * última comprobación lleva la etiqueta {@code perf} ({@code mvn -Pperf test}).
+ */
+class ParserFuzzTest {
+
+    private static final ScanLimits LIMITS = new ScanLimits.Builder().maxLineLength(200).maxContextChars(800).build();
+    private static final int BASE_SIZE = 50_000;
+    private static final int SIZE_STEP = 4;
+    private static final int STEPS = 3;
+    // Lineal: ~4x; cuadrático: ~16x
+    private static final double MAX_GROWTH = 8.0;
+    private static final int RUNS = 5;
+    private static final int WARMUP_RUNS = 5;
+    private static final int MUTATIONS = 200;
+    private static final long SEED = 42;
+
+    static Stream<Arguments> cases() {
+        return Stream.of(
+                Arguments.of("linea-minificada", (IntFunction<String>) ParserFuzzTest::minifiedLine),
+                Arguments.of("guiones-en-contexto", (IntFunction<String>) ParserFuzzTest::hyphenContext),
+                Arguments.of("titulo-gigante", (IntFunction<String>) ParserFuzzTest::hugeHeading),
+                Arguments.of("rutas-sin-extension", (IntFunction<String>) ParserFuzzTest::repeatedPrefixes),
+                Arguments.of("info-gigante", (IntFunction<String>) ParserFuzzTest::hugeInfoString),
+                Arguments.of("bloque-enorme", (IntFunction<String>) ParserFuzzTest::hugeBlock),
+                Arguments.of("valla-sin-cerrar", (IntFunction<String>) ParserFuzzTest::unclosedFence));
+    }
+
+    private static MarkdownParser parser() {
+        MarkdownParser parser = new MarkdownParser(null);
+        parser.setScanLimits(LIMITS);
+        return parser;
+    }
+
+    private static MarkdownParser parser(ContextRecorder recorder) {
+        MarkdownParser parser = parser();
+        parser.addPathStrategy(recorder);
+        return parser;
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("cases")
+    void elContextoRespetaLosLimites(String name, IntFunction<String> guide) {
+        ContextRecorder recorder = new ContextRecorder();
+        parser(recorder).parse(guide.apply(BASE_SIZE * SIZE_STEP));
+        assertTrue(name.equals("valla-sin-cerrar") || !recorder.contexts().isEmpty(),
+                name + ": ninguna estrategia recibió contexto");
+        assertWithinLimits(name, recorder);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("cases")
+    @Tag("perf")
+    void elCosteEsLineal(String name, IntFunction<String> guide) {
+        MarkdownParser parser = parser();
+        String warmup = guide.apply(BASE_SIZE);
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            parser.parse(warmup);
+        }
+
+        double previous = 0;
+        int size = BASE_SIZE;
+        for (int step = 0; step < STEPS; step++, size *= SIZE_STEP) {
+            double millis = bestParseMillis(parser, guide.apply(size));
+            // Por debajo de un milisegundo el ruido domina la proporción
+            if (previous > 1.0) {
+                double ratio = millis / previous;
+                assertTrue(ratio <= MAX_GROWTH, String.format(
+                        "%s: el tiempo crece %.1fx al multiplicar el tamaño por %d", name, ratio, SIZE_STEP));
+            }
+            previous = millis;
+        }
+    }
+
+    @Test
+    void seInformaDeLaVallaSinCerrar() {
+        MarkdownParser parser = parser();
+        parser.parse(unclosedFence(BASE_SIZE));
+        assertFalse(parser.getProblems().isEmpty(), "no se informó del bloque sin cerrar");
+    }
+
+    @Test
+    void lasMutacionesNoRompenLosLimites() {
+        String clean = GuideSynthesizer.scaled(1, SEED).build().generate();
+        SplittableRandom random = new SplittableRandom(SEED);
+        ContextRecorder recorder = new ContextRecorder();
+        MarkdownParser parser = parser(recorder);
+        for (int i = 0; i < MUTATIONS; i++) {
+            String mutated = mutate(clean, random);
+            recorder.clear();
+            assertDoesNotThrow(() -> parser.parse(mutated), "mutación " + i);
+            assertWithinLimits("mutación " + i, recorder);
+        }
+    }
+
+    @Test
+    void laRegionRecortadaRespetaLosLimites() {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int i = 0; i < 500; i++) {
+            String text = randomText(random, random.nextInt(5_000));
+            int from = random.nextInt(text.length() + 1);
+            int to = from + random.nextInt(text.length() - from + 1);
+            String region = LIMITS.region(text, from, to);
+            assertRegion("region " + i, region);
+            assertTrue(LIMITS.line(text).length() <= LIMITS.getMaxLineLength(), "line " + i);
+        }
+    }
+
+    private static void assertWithinLimits(String name, ContextRecorder recorder) {
+        for (PathContext context : recorder.contexts()) {
+            if (context.getInfoString() != null) {
+                assertTrue(context.getInfoString().length() <= LIMITS.getMaxLineLength(),
+                        name + ": info de " + context.getInfoString().length() + " caracteres");
+            }
+            if (context.getSection() != null) {
+                assertTrue(context.getSection().length() <= LIMITS.getMaxLineLength(),
+                        name + ": sección de " + context.getSection().length() + " caracteres");
+            }
+            assertRegion(name, context.getLinesBefore());
+        }
+    }
+
+    private static void assertRegion(String name, String region) {
+        if (region == null) return;
+        assertTrue(region.length() <= LIMITS.getMaxContextChars(),
+                name + ": contexto de " + region.length() + " caracteres");
+        for (String line : region.split("\n", -1)) {
+            assertTrue(line.length() <= LIMITS.getMaxLineLength(),
+                    name + ": línea de contexto de " + line.length() + " caracteres");
+        }
+    }
+
+    /**
+     * Mejor tiempo de varias pasadas: el mínimo es el menos afectado por GC y JIT.
+     */
+    private static double bestParseMillis(MarkdownParser parser, String guide) {
+        double best = Double.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            parser.parse(guide);
+            best = Math.min(best, (System.nanoTime() - start) / 1_000_000.0);
+        }
+        return best;
+    }
+
+    // ---- Guías patológicas (size = caracteres aproximados) ----
+
+    private static String minifiedLine(int size) {
+        StringBuilder sb = new StringBuilder("## FASE 1\n\n### Script\n\n```javascript\n");
+        while (sb.length() < size) {
+            sb.append("var a=b-c-d;function f(x){return x-1};");
+        }
+        return sb.append("\n```\n").toString();
+    }
+
+    private static String hyphenContext(int size) {
+        StringBuilder sb = new StringBuilder("## FASE 1\n\n");
+        while (sb.length() < size) {
+            sb.append("a-");
+        }
+        return sb.append("\n\n```text\nsin ruta\n```\n").toString();
+    }
+
+    private static String hugeHeading(int size) {
+        StringBuilder sb = new StringBuilder("## FASE 1\n\n### ");
+        while (sb.length() < size) {
+            sb.append("script-");
+        }
+        return sb.append("\n\n```bash\necho hola\n```\n").toString();
+    }
+
+    private static String repeatedPrefixes(int size) {
+        StringBuilder sb = new StringBuilder("## FASE 1\n\n");
+        while (sb.length() < size) {
+            sb.append("src/main/java/");
+        }
+        return sb.append("\n\n```text\nsin ruta\n```\n").toString();
+    }
+
+    private static String hugeInfoString(int size) {
+        StringBuilder sb = new StringBuilder("## FASE 1\n\n```text ");
+        while (sb.length() < size) {
+            sb.append("x-");
+        }
+        return sb.append("\nsin ruta\n```\n").toString();
+    }
+
+    private static String hugeBlock(int size) {
+        StringBuilder sb = new StringBuilder("## FASE 1\n\n```java\n// src/main/java/com/demo/Grande.java\n"
+                + "package com.demo;\n\npublic class Grande {\n");
+        int field = 0;
+        while (sb.length() < size) {
+            sb.append("    private int campo").append(field++).append(" = ").append(field).append(";\n");
+        }
+        return sb.append("}\n```\n").toString();
+    }
+
+    private static String unclosedFence(int size) {
+        StringBuilder sb = new StringBuilder("## FASE 1\n\n### 1.1 Clase\n\n```java\n// src/main/java/com/demo/A.java\n");
+        while (sb.length() < size) {
+            sb.append("### no es un titulo: esta dentro del bloque\n");
+        }
+        return sb.toString();
+    }
+
+    private static String randomText(SplittableRandom random, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        while (sb.length() < length) {
+            int kind = random.nextInt(10);
+            if (kind == 0) {
+                sb.append('\n');
+            } else if (kind == 1) {
+                sb.append("x".repeat(random.nextInt(400)));
+            } else {
+                sb.append((char) ('a' + random.nextInt(26)));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Aplica entre 1 y 4 mutaciones: vallas sueltas, borrados, líneas duplicadas
+     * o tokens largos sin espacios.
+     */
+    private static String mutate(String guide, SplittableRandom random) {
+        StringBuilder sb = new StringBuilder(guide);
+        int count = 1 + random.nextInt(4);
+        for (int i = 0; i < count; i++) {
+            int at = random.nextInt(sb.length() + 1);
+            switch (random.nextInt(4)) {
+                case 0:
+                    sb.insert(at, random.nextBoolean() ? "\n```\n" : "\n~~~~ " + "x".repeat(random.nextInt(50)) + "\n");
+                    break;
+                case 1:
+                    sb.delete(at, Math.min(sb.length(), at + random.nextInt(2000)));
+                    break;
+                case 2: {
+                    int end = sb.indexOf("\n", at);
+                    if (end > at) sb.insert(end, sb.substring(at, end).repeat(1 + random.nextInt(20)));
+                    break;
+                }
+                default: {
+                    StringBuilder token = new StringBuilder();
+                    int length = random.nextInt(20_000);
+                    while (token.length() < length) token.append(random.nextBoolean() ? "a-" : "src/main/java/");
+                    sb.insert(at, token);
+                }
+            }
+        }
+        return sb.toString();
+    }
+}
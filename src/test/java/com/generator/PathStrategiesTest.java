@@ -0,0 +1,95 @@
+// src/test/java/com/generator/PathStrategiesTest.java
+
+package com.generator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class PathStrategiesTest {
+
+    private static final PathContext JAVA = new PathContext("class A {}", "java", "", "", "");
+
+    private final List<String> evaluated = new ArrayList<>();
+
+    private PathStrategy strategy(String name, int priority, String language, String path) {
+        return new PathStrategy() {
+            @Override public String name() { return name; }
+            @Override public int priority() { return priority; }
+
+            @Override
+            public boolean appliesTo(String blockLanguage) {
+                return language == null || language.equals(blockLanguage);
+            }
+
+            @Override
+            public String find(PathContext context) {
+                evaluated.add(name);
+                return path;
+            }
+        };
+    }
+
+    @Test
+    void ganaLaPrimeraPorPrioridadYNoSeEvaluanLasDemas() {
+        PathStrategies chain = new PathStrategies(List.of(
+                strategy("tarde", 300, null, "C.java"),
+                strategy("nada", 100, null, null),
+                strategy("pronto", 200, null, "B.java")), false);
+
+        PathStrategies.Match match = chain.resolve(JAVA);
+
+        assertEquals("pronto", match.strategy.name());
+        assertEquals("B.java", match.path);
+        assertEquals(List.of("nada", "pronto"), evaluated);
+    }
+
+    @Test
+    void seSaltanLasQueNoAplicanAlLenguaje() {
+        PathStrategies chain = new PathStrategies(List.of(
+                strategy("xml", 100, "xml", "a.xml"),
+                strategy("java", 200, "java", "A.java")), false);
+
+        assertEquals("A.java", chain.resolve(JAVA).path);
+        assertEquals(List.of("java"), evaluated);
+    }
+
+    @Test
+    void sinRutaDevuelveNull() {
+        assertNull(new PathStrategies(List.of(strategy("nada", 100, null, null)), false).resolve(JAVA));
+    }
+
+    @Test
+    void elModoAdaptativoDaLaMismaRutaQueElCanonico() {
+        List<PathStrategy> chain = List.of(
+                strategy("seccion", 100, null, null),
+                strategy("codigo", 200, null, "B.java"),
+                strategy("java", 300, "java", "A.java"));
+        PathStrategies canonical = new PathStrategies(chain, false);
+        PathStrategies adaptive = new PathStrategies(chain, true);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(canonical.resolve(JAVA).path, adaptive.resolve(JAVA).path);
+        }
+        assertTrue(adaptive.report().startsWith("codigo 100% (100/100, coste 1)"), adaptive.report());
+    }
+
+    @Test
+    void elInformeCuentaLasLlamadasAFind() {
+        PathStrategies chain = new PathStrategies(List.of(
+                strategy("nada", 100, null, null),
+                strategy("pronto", 200, null, "B.java"),
+                strategy("tarde", 300, null, "C.java")), false);
+
+        chain.resolve(JAVA);
+        chain.resolve(JAVA);
+
+        assertEquals(4, chain.findCalls());
+        assertTrue(chain.report().endsWith("| 4 llamadas a find()"), chain.report());
+    }
+}
@@ -0,0 +1,114 @@
+// src/test/java/com/generator/PhaseSnapshotWriterTest.java
+
+package com.generator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PhaseSnapshotWriterTest {
+
+    @TempDir
+    Path temp;
+
+    private static CodeBlock block(int order, String phase, String path, String content) {
+        return new CodeBlock.Builder().order(order).phase(phase).filePath(path).language("java")
+                .content(content).build();
+    }
+
+    private static String read(Path file) throws IOException {
+        return Files.readString(file);
+    }
+
+    @Test
+    void rutaRepetidaConElMismoContenidoEnUnaFaseSeReescribe() throws IOException {
+        List<CodeBlock> blocks = List.of(
+                block(1, "FASE 1", "Alpha.java", "class Alpha { int v = 1; }\n"),
+                block(2, "FASE 2", "Alpha.java", "class Alpha { int v = 2; }\n"),
+                block(3, "FASE 2", "Alpha.java", "class Alpha { int v = 2; }\n"));
+
+        PhaseSnapshotWriter writer = new PhaseSnapshotWriter(temp, blocks);
+        List<Path> snapshots = writer.writeAll(null, false);
+
+        assertEquals(2, snapshots.size());
+        assertTrue(read(snapshots.get(0).resolve("Alpha.java")).contains("v = 1;"));
+        assertTrue(read(snapshots.get(1).resolve("Alpha.java")).contains("v = 2;"));
+    }
+
+    @Test
+    void rutaNuevaRepetidaEnUnaFaseNoSeEnlaza() throws IOException {
+        List<CodeBlock> blocks = List.of(
+                block(1, "FASE 1", "Alpha.java", "class Alpha {}\n"),
+                block(2, "FASE 2", "Beta.java", "class Beta {}\n"),
+                block(3, "FASE 2", "Beta.java", "class Beta {}\n"));
+
+        PhaseSnapshotWriter writer = new PhaseSnapshotWriter(temp, blocks);
+        List<Path> snapshots = writer.writeAll(null, false);
+
+        assertEquals(read(snapshots.get(0).resolve("Alpha.java")), read(snapshots.get(1).resolve("Alpha.java")));
+        assertTrue(Files.isRegularFile(snapshots.get(1).resolve("Beta.java")));
+        assertEquals(2, writer.getFilesWritten());
+        assertEquals(1, writer.getFilesLinked() + writer.getFilesCopied());
+    }
+
+    @Test
+    void rutaQueVuelveAlContenidoAnteriorSeReutiliza() throws IOException {
+        List<CodeBlock> blocks = List.of(
+                block(1, "FASE 1", "Alpha.java", "class Alpha { int v = 1; }\n"),
+                block(2, "FASE 2", "Alpha.java", "class Alpha { int v = 2; }\n"),
+                block(3, "FASE 2", "Alpha.java", "class Alpha { int v = 1; }\n"));
+
+        PhaseSnapshotWriter writer = new PhaseSnapshotWriter(temp, blocks);
+        List<Path> snapshots = writer.writeAll(null, false);
+
+        assertEquals(read(snapshots.get(0).resolve("Alpha.java")), read(snapshots.get(1).resolve("Alpha.java")));
+        assertEquals(1, writer.getFilesWritten());
+    }
+
+    @Test
+    void elReadmeUsaLosSegmentosInstanciados() throws IOException {
+        Path guide = Files.writeString(temp.resolve("guia.md"), "# ${nombre}\n");
+        List<CodeBlock> blocks = List.of(
+                block(1, "FASE 1", "Alpha.java", "class Alpha {}\n"),
+                block(2, "FASE 2", "Beta.java", "class Beta {}\n"));
+
+        PhaseSnapshotWriter writer = new PhaseSnapshotWriter(temp.resolve("salida"), blocks);
+        writer.setReadmeSegments(List.of("# demo\n"));
+        List<Path> snapshots = writer.writeAll(guide, true);
+
+        assertTrue(read(snapshots.get(0).resolve("README.md")).contains("# demo"));
+        assertTrue(read(snapshots.get(1).resolve("README.md")).contains("# demo"));
+        assertFalse(read(snapshots.get(1).resolve("README.md")).contains("${nombre}"));
+    }
+
+    @Test
+    void rechazaRutasFueraDelSnapshot() {
+        List<CodeBlock> blocks = List.of(block(1, "FASE 1", "../../fuera/Pwned.java", "class Pwned {}\n"));
+
+        PhaseSnapshotWriter writer = new PhaseSnapshotWriter(temp.resolve("salida"), blocks);
+
+        assertThrows(IOException.class, () -> writer.writeAll(null, false));
+        assertFalse(Files.exists(temp.resolve("fuera/Pwned.java")));
+    }
+
+    @Test
+    void losSnapshotsUsanElNumeroDeFaseDeLaGuia() throws IOException {
+        List<CodeBlock> blocks = List.of(
+                block(4, "FASE 2", "Alpha.java", "class Alpha {}\n").toBuilder().phaseOrdinal(2).build(),
+                block(7, "FASE 3", "Beta.java", "class Beta {}\n").toBuilder().phaseOrdinal(3).build());
+
+        List<Path> snapshots = new PhaseSnapshotWriter(temp, blocks).writeAll(null, false);
+
+        assertEquals(temp.resolve("phase-02"), snapshots.get(0));
+        assertEquals(temp.resolve("phase-03"), snapshots.get(1));
+    }
+}
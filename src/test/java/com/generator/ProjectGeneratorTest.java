@@ -0,0 +1,70 @@
+// src/test/java/com/generator/ProjectGeneratorTest.java
+
+package com.generator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ProjectGeneratorTest {
+
+    @TempDir
+    Path temp;
+
+    private static CodeBlock block(String path) {
+        return new CodeBlock.Builder().order(1).filePath(path).language("java").content("class X {}\n").build();
+    }
+
+    @Test
+    void escribeDentroDelDirectorioDeSalida() throws IOException {
+        Path output = temp.resolve("salida");
+        ProjectGenerator generator = new ProjectGenerator(output, List.of());
+
+        generator.generateFile(block("src/main/java/../java/com/x/X.java"));
+
+        assertTrue(Files.isRegularFile(output.resolve("src/main/java/com/x/X.java")));
+        assertEquals(1, generator.getFilesCreated());
+    }
+
+    @Test
+    void rechazaRutasQueSalenDelDirectorio() {
+        Path output = temp.resolve("salida");
+        ProjectGenerator generator = new ProjectGenerator(output, List.of());
+
+        String escape = "src/main/java/../../../../fuera/Pwned.java";
+        assertThrows(IOException.class, () -> generator.generateFile(block(escape)));
+        assertFalse(Files.exists(temp.resolve("fuera/Pwned.java")));
+        assertThrows(IOException.class, () -> generator.generateFile(block("..")));
+        assertThrows(IOException.class, () -> generator.deleteFile("../otro.txt"));
+        assertEquals(0, generator.getFilesCreated());
+    }
+
+    @Test
+    void rechazaRutasAbsolutas() {
+        ProjectGenerator generator = new ProjectGenerator(temp.resolve("salida"), List.of());
+        Path absolute = temp.resolve("absoluto/Pwned.java").toAbsolutePath();
+
+        assertThrows(IOException.class, () -> generator.generateFile(block(absolute.toString())));
+        assertFalse(Files.exists(absolute));
+    }
+
+    @Test
+    void noConsultaArchivosFueraDelDirectorio() throws IOException {
+        Path output = temp.resolve("salida");
+        Files.createDirectories(output);
+        Files.writeString(temp.resolve("secreto.txt"), "secreto");
+        ProjectGenerator generator = new ProjectGenerator(output, List.of());
+
+        assertFalse(generator.fileExists(block("../secreto.txt")));
+        assertEquals(null, generator.getExistingContent(block("../secreto.txt")));
+    }
+}
@@ -0,0 +1,174 @@
+// src/test/java/com/generator/ScalingTest.java
+
+package com.generator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Parser y generador con guías sintéticas de tamaño creciente.
+ *
+ * Al multiplicar la escala por 10 el tiempo por bloque no puede crecer más de
+ * {@link #MAX_TIME_GROWTH} veces (coste casi lineal), el heap retenido por
+ * carácter de guía está acotado y escribir un archivo apenas reserva memoria.
+ * Las mediciones se añaden a {@code target/scaling-results.csv} para seguir
+ * su evolución entre ejecuciones.
+ *
+ * Las comprobaciones de tiempo y memoria llevan la etiqueta {@code perf} y
+ * solo se ejecutan con {@code mvn -Pperf test}.
+ */
+class ScalingTest {
+
+    private static final int[] SCALES = {10, 100, 1000};
+    private static final double MAX_TIME_GROWTH = 3.0;
+    private static final double MAX_HEAP_PER_CHAR = 8.0;
+    // Rutas, canal y evento JFR; el contenido se codifica en buffers reutilizados
+    private static final long MAX_ALLOCATION_PER_FILE = 4096;
+    private static final int GENERATE_SCALE = 10;
+    private static final int RUNS = 3;
+    private static final int WARMUP_RUNS = 20;
+    private static final long SEED = 42;
+    private static final Path RESULTS = Paths.get("target", "scaling-results.csv");
+    private static final String CSV_HEADER = "fecha,escala,caracteres,bloques,parse_ms,heap_bytes";
+
+    private static final StringBuilder rows = new StringBuilder();
+
+    @TempDir
+    Path temp;
+
+    @Test
+    void laGuiaSinteticaEsDeterminista() {
+        String guide = GuideSynthesizer.scaled(1, SEED).build().generate();
+
+        assertEquals(guide, GuideSynthesizer.scaled(1, SEED).build().generate());
+        assertNotEquals(guide, GuideSynthesizer.scaled(1, SEED + 1).build().generate());
+    }
+
+    @Test
+    void laGuiaSinteticaRespetaLaConfiguracion() {
+        String guide = new GuideSynthesizer.Builder().phases(4).sectionsPerPhase(3).blocksPerSection(2)
+                .languages("java").unresolvedRatio(0).duplicateRatio(0.5).build().generate();
+        List<CodeBlock> blocks = new MarkdownParser(null).parse(guide);
+
+        assertEquals(4 * 3 * 2, blocks.size());
+        Set<String> phases = new HashSet<>();
+        Set<String> paths = new HashSet<>();
+        for (CodeBlock block : blocks) {
+            phases.add(block.getPhase());
+            assertTrue(block.getFilePath() != null && block.getFilePath().endsWith(".java"),
+                    "bloque sin ruta java: " + block.getFilePath());
+            paths.add(block.getFilePath());
+        }
+        assertEquals(4, phases.size());
+        assertTrue(paths.size() < blocks.size(), "no hay rutas repetidas");
+    }
+
+    @Test
+    @Tag("perf")
+    void elParseoEscalaCasiLinealConHeapAcotado() {
+        // Calentamiento del JIT para que la escala menor no parta con ventaja
+        MarkdownParser warmup = new MarkdownParser(null);
+        String warmupGuide = GuideSynthesizer.scaled(10, SEED + 1).build().generate();
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            warmup.parse(warmupGuide);
+        }
+
+        double baseNanosPerBlock = 0;
+        String date = LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        for (int scale : SCALES) {
+            String guide = GuideSynthesizer.scaled(scale, SEED).build().generate();
+            MarkdownParser parser = new MarkdownParser(null);
+
+            double best = Double.MAX_VALUE;
+            for (int run = 0; run < RUNS; run++) {
+                long start = System.nanoTime();
+                parser.parse(guide);
+                best = Math.min(best, (System.nanoTime() - start) / 1_000_000.0);
+            }
+
+            // Una pasada más mide el heap que retienen los bloques
+            long heapBefore = usedHeap();
+            List<CodeBlock> blocks = parser.parse(guide);
+            long heapBytes = Math.max(0, usedHeap() - heapBefore);
+
+            assertFalse(blocks.isEmpty(), "escala " + scale + ": el parser no encontró bloques");
+            double nanosPerBlock = best * 1_000_000 / blocks.size();
+            if (baseNanosPerBlock == 0) {
+                baseNanosPerBlock = nanosPerBlock;
+            } else {
+                assertTrue(nanosPerBlock <= baseNanosPerBlock * MAX_TIME_GROWTH, String.format(
+                        "escala %d: %.0f ns/bloque, más de %.0fx la escala %d (%.0f)",
+                        scale, nanosPerBlock, MAX_TIME_GROWTH, SCALES[0], baseNanosPerBlock));
+            }
+            double heapPerChar = (double) heapBytes / guide.length();
+            assertTrue(heapPerChar <= MAX_HEAP_PER_CHAR, String.format(
+                    "escala %d: %.1f bytes de heap por carácter de guía (límite %.0f)",
+                    scale, heapPerChar, MAX_HEAP_PER_CHAR));
+
+            rows.append(String.format(Locale.ROOT, "%s,%d,%d,%d,%.2f,%d%n",
+                    date, scale, guide.length(), blocks.size(), best, heapBytes));
+        }
+    }
+
+    /**
+     * La segunda generación sobrescribe los mismos archivos (directorios ya
+     * creados), así que lo reservado es solo lo que cuesta escribir cada uno.
+     */
+    @Test
+    @Tag("perf")
+    void escribirUnArchivoApenasReservaMemoria() throws IOException {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean,
+                "la JVM no mide la memoria reservada por hilo");
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        List<CodeBlock> blocks = new MarkdownParser(null)
+                .parse(GuideSynthesizer.scaled(GENERATE_SCALE, SEED).build().generate());
+
+        new ProjectGenerator(temp, blocks).generateAll();
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        new ProjectGenerator(temp, blocks).generateAll();
+        long perFile = (threads.getThreadAllocatedBytes(thread) - before) / blocks.size();
+
+        assertTrue(perFile <= MAX_ALLOCATION_PER_FILE, String.format(
+                "%d bytes reservados por archivo generado (límite %d)", perFile, MAX_ALLOCATION_PER_FILE));
+    }
+
+    @AfterAll
+    static void recordResults() throws IOException {
+        if (rows.length() == 0 || !Files.isDirectory(RESULTS.getParent())) return;
+        if (!Files.exists(RESULTS)) {
+            rows.insert(0, CSV_HEADER + "\n");
+        }
+        Files.writeString(RESULTS, rows, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
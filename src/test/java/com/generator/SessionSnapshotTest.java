@@ -0,0 +1,53 @@
+// src/test/java/com/generator/SessionSnapshotTest.java
+
+package com.generator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SessionSnapshotTest {
+
+    @TempDir
+    Path temp;
+
+    private Path guide() throws IOException {
+        return Files.writeString(temp.resolve("guia.md"), "## FASE 1\n\n```java\n// A.java\nclass A {}\n```\n");
+    }
+
+    @Test
+    void laClaveNoDependeDelOrdenDeLasOpciones() throws IOException {
+        Map<String, String> first = new LinkedHashMap<>();
+        first.put("max-line", "1000");
+        first.put("fast-scan", "false");
+        Map<String, String> second = new LinkedHashMap<>();
+        second.put("fast-scan", "false");
+        second.put("max-line", "1000");
+
+        assertEquals(SessionSnapshot.hashGuide(guide(), first), SessionSnapshot.hashGuide(guide(), second));
+    }
+
+    @Test
+    void cadaOpcionCambiaLaClave() throws IOException {
+        String base = SessionSnapshot.hashGuide(guide(), Map.of("max-line", "1000", "delta-blocks", "false"));
+
+        assertNotEquals(base, SessionSnapshot.hashGuide(guide(), Map.of("max-line", "200", "delta-blocks", "false")));
+        assertNotEquals(base, SessionSnapshot.hashGuide(guide(), Map.of("max-line", "1000", "delta-blocks", "true")));
+        assertNotEquals(base, SessionSnapshot.hashGuide(guide(),
+                Map.of("max-line", "1000", "delta-blocks", "false", "rules", "yaml contains(x) x.yml")));
+    }
+
+    @Test
+    void lasFronterasEntreClavesYValoresCuentan() throws IOException {
+        assertNotEquals(SessionSnapshot.hashGuide(guide(), Map.of("var.a", "bc")),
+                SessionSnapshot.hashGuide(guide(), Map.of("var.ab", "c")));
+    }
+}
@@ -0,0 +1,59 @@
+// src/test/java/com/generator/TemplateRendererTest.java
+
+package com.generator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class TemplateRendererTest {
+
+    private static CodeBlock block(int order, String path, String content) {
+        return new CodeBlock.Builder().order(order).filePath(path).content(content).build();
+    }
+
+    @Test
+    void elEscapeSeConvierteAunqueElBloqueNoTengaVariables() {
+        List<CodeBlock> blocks = List.of(
+                block(1, "a.sh", "echo $${HOME}\n"),
+                block(2, "b.sh", "echo $${HOME} ${name}\n"));
+
+        List<CodeBlock> rendered = new TemplateRenderer(blocks).render(Map.of("name", "x"));
+
+        assertEquals("echo ${HOME}\n", rendered.get(0).getContent());
+        assertEquals("echo ${HOME} x\n", rendered.get(1).getContent());
+    }
+
+    @Test
+    void elEscapeSeConvierteSinValores() {
+        TemplateRenderer renderer = new TemplateRenderer(List.of(block(1, "a.sh", "echo $${HOME}\n")),
+                GuideAssembler.fromText("Usa $${HOME}\n"));
+
+        assertTrue(renderer.needsRendering());
+        assertEquals("echo ${HOME}\n", renderer.render(Map.of()).get(0).getContent());
+        assertEquals(List.of("Usa ${HOME}\n"), renderer.renderReadme(Map.of()));
+    }
+
+    @Test
+    void bloquesSinVariablesNiEscapesSeReutilizan() {
+        CodeBlock plain = block(1, "A.java", "class A { String s = \"$\"; }\n");
+        TemplateRenderer renderer = new TemplateRenderer(List.of(plain));
+
+        assertFalse(renderer.needsRendering());
+        assertSame(plain, renderer.render(Map.of()).get(0));
+    }
+
+    @Test
+    void variablesSinValorSeDejanIntactas() {
+        List<CodeBlock> rendered = new TemplateRenderer(List.of(block(1, "pom.xml", "<v>${java.version}</v>\n")))
+                .render(Map.of());
+
+        assertEquals("<v>${java.version}</v>\n", rendered.get(0).getContent());
+    }
+}